@@ -1,13 +1,21 @@
 package com.dlvery.dlvery.controller;
 
+import com.dlvery.dlvery.dto.BulkDeliveryResponse;
+import com.dlvery.dlvery.dto.CursorPageDto;
 import com.dlvery.dlvery.dto.DeliveryDto;
+import com.dlvery.dlvery.entity.DeliveryPriority;
 import com.dlvery.dlvery.entity.DeliveryStatus;
+import com.dlvery.dlvery.entity.SignatureBlob;
 import com.dlvery.dlvery.service.DeliveryService;
+import com.dlvery.dlvery.service.DeliverySignatureService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -17,18 +25,39 @@ import java.util.List;
 @CrossOrigin(origins = {"http://localhost:4200", "http://127.0.0.1:4200"})
 public class DeliveryController {
     
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    
     private final DeliveryService deliveryService;
+    private final DeliverySignatureService signatureService;
     
     @PostMapping
     public ResponseEntity<DeliveryDto> createDelivery(@RequestBody DeliveryDto deliveryDto) {
         return ResponseEntity.ok(deliveryService.createDelivery(deliveryDto));
     }
     
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkDeliveryResponse> createDeliveries(@RequestBody List<DeliveryDto> deliveryDtos) {
+        return ResponseEntity.ok(deliveryService.createDeliveries(deliveryDtos));
+    }
+    
     @GetMapping
     public ResponseEntity<List<DeliveryDto>> getAllDeliveries() {
         return ResponseEntity.ok(deliveryService.getAllDeliveries());
     }
     
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDto<DeliveryDto>> getDeliveriesPage(
+            @RequestParam(required = false) DeliveryStatus status,
+            @RequestParam(required = false) DeliveryPriority priority,
+            @RequestParam(required = false) String agent,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String sku,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(deliveryService.getDeliveriesPage(status, priority, agent, from, to, sku, cursor, limit));
+    }
+    
     @GetMapping("/agent/{agent}")
     public ResponseEntity<List<DeliveryDto>> getDeliveriesByAgent(@PathVariable String agent) {
         return ResponseEntity.ok(deliveryService.getDeliveriesByAgent(agent));
@@ -66,8 +95,33 @@ public class DeliveryController {
     @GetMapping("/track")
     public ResponseEntity<List<DeliveryDto>> trackDeliveries(
             @RequestParam(required = false) String sku,
-            @RequestParam(required = false) String agent) {
-        return ResponseEntity.ok(deliveryService.trackDeliveries(sku, agent));
+            @RequestParam(required = false) String agent,
+            @RequestParam(required = false) String customer,
+            @RequestParam(required = false) String deliveryId,
+            @RequestParam(required = false) DeliveryStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        CursorPageDto<DeliveryDto> page = deliveryService.trackDeliveries(sku, agent, customer, deliveryId, status, cursor, limit);
+
+        // Body stays a plain array for existing clients; the continuation cursor travels in a header
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.isHasMore()) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    @GetMapping("/{id}/signature")
+    public ResponseEntity<byte[]> getDeliverySignature(@PathVariable Long id) {
+        SignatureBlob signature = signatureService.getSignature(id);
+        
+        // Signatures rarely change once captured; let the browser reuse one for a while.
+        // The content hash doubles as the ETag
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(signature.getContentType()))
+                .cacheControl(CacheControl.maxAge(Duration.ofHours(1)).cachePrivate())
+                .eTag(signature.getHash())
+                .body(signature.getData());
     }
 
     @PutMapping("/{id}/status")
@@ -3,12 +3,15 @@ package com.dlvery.dlvery.controller;
 import com.dlvery.dlvery.dto.*;
 import com.dlvery.dlvery.entity.MovementType;
 import com.dlvery.dlvery.service.InventoryService;
-import com.dlvery.dlvery.service.FileUploadService;
+import com.dlvery.dlvery.service.ImportJobService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -18,7 +21,7 @@ import java.util.List;
 public class InventoryController {
 
     private final InventoryService inventoryService;
-    private final FileUploadService fileUploadService;
+    private final ImportJobService importJobService;
 
     private ResponseEntity<String> buildErrorResponse(String message, int statusCode) {
         return ResponseEntity.status(statusCode)
@@ -36,6 +39,24 @@ public class InventoryController {
         return ResponseEntity.ok(inventoryService.getAllProducts());
     }
     
+    @GetMapping("/products/page")
+    public ResponseEntity<CursorPageDto<ProductDto>> getProductsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(inventoryService.getProductsPage(cursor, limit));
+    }
+    
+    @GetMapping("/products/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(@RequestParam(defaultValue = "ndjson") String format) {
+        boolean ndjson = !"json".equalsIgnoreCase(format);
+        StreamingResponseBody body = outputStream -> inventoryService.exportProducts(outputStream, ndjson);
+
+        return ResponseEntity.ok()
+                .header("Content-Type", ndjson ? "application/x-ndjson" : "application/json")
+                .header("Content-Disposition", "attachment; filename=products." + (ndjson ? "ndjson" : "json"))
+                .body(body);
+    }
+    
     @GetMapping("/products/available")
     public ResponseEntity<List<ProductDto>> getAvailableProducts() {
         return ResponseEntity.ok(inventoryService.getAvailableProducts());
@@ -79,30 +100,46 @@ public class InventoryController {
     }
     
     @PostMapping("/upload")
-    public ResponseEntity<String> uploadInventoryFile(@RequestParam("file") MultipartFile file) {
-        try {
-            // Validate file
-            if (file.isEmpty()) {
-                return ResponseEntity.badRequest().body("Please select a file to upload");
-            }
-            
-             // Check file type
-             String filename = file.getOriginalFilename();
-             if (filename == null || (!filename.toLowerCase().endsWith(".csv") && !filename.toLowerCase().endsWith(".xlsx"))) {
-                 return ResponseEntity.badRequest().body("Please upload a CSV or XLSX file");
-             }
-            
-            // Process file
-            String result = fileUploadService.processInventoryFile(file);
-            return ResponseEntity.ok()
-                    .header("Content-Type", "text/plain; charset=UTF-8")
-                    .body(result);
-                    
-        } catch (RuntimeException e) {
-            return buildErrorResponse(e.getMessage(), 400);
-        } catch (Exception e) {
-            return buildErrorResponse("An unexpected error occurred while processing the file. Please try again.", 500);
+    public ResponseEntity<?> uploadInventoryFile(@RequestParam("file") MultipartFile file,
+                                                 @RequestParam(defaultValue = "false") boolean dryRun,
+                                                 Authentication authentication) {
+        // Validate file
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body("Please select a file to upload");
         }
+        
+         // Check file type
+         String filename = file.getOriginalFilename();
+         if (filename == null || (!filename.toLowerCase().endsWith(".csv") && !filename.toLowerCase().endsWith(".xlsx"))) {
+             return ResponseEntity.badRequest().body("Please upload a CSV or XLSX file");
+         }
+        
+        // A dry run only validates, synchronously, and writes nothing
+        if (dryRun) {
+            return ResponseEntity.ok(importJobService.validate(file));
+        }
+        
+        // Rows are imported in the background; poll the job for progress
+        ImportJobDto job = importJobService.submit(file, authentication != null ? authentication.getName() : null);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/inventory/imports/" + job.getId()))
+                .body(job);
+    }
+    
+    @GetMapping("/imports/{id}")
+    public ResponseEntity<ImportJobDto> getImportJob(@PathVariable Long id) {
+        return ResponseEntity.ok(importJobService.getJob(id));
+    }
+    
+    @GetMapping("/imports/{id}/errors")
+    public ResponseEntity<StreamingResponseBody> downloadImportErrors(@PathVariable Long id) {
+        importJobService.getJob(id); // 404 before the response is committed
+        StreamingResponseBody body = outputStream -> importJobService.writeErrorReport(id, outputStream);
+        
+        return ResponseEntity.ok()
+                .header("Content-Type", "text/csv; charset=UTF-8")
+                .header("Content-Disposition", "attachment; filename=import-" + id + "-errors.csv")
+                .body(body);
     }
     
     @GetMapping("/dashboard/stats")
@@ -110,6 +147,11 @@ public class InventoryController {
         return ResponseEntity.ok(inventoryService.getDashboardStats());
     }
     
+    @GetMapping("/dashboard/analytics")
+    public ResponseEntity<AnalyticsDto> getAnalytics(@RequestParam(required = false) Integer days) {
+        return ResponseEntity.ok(inventoryService.getAnalytics(days));
+    }
+    
      @GetMapping("/template")
      public ResponseEntity<byte[]> downloadTemplate() {
          try {
@@ -0,0 +1,14 @@
+package com.dlvery.dlvery.dto;
+
+import lombok.Data;
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+public class AnalyticsDto {
+    private DashboardStatsDto summary;
+    private Map<String, Long> productsByCategory;
+    private Map<String, Long> deliveriesByStatus;
+    private Map<String, Long> deliveriesByPriority;
+    private Map<LocalDate, Long> deliveredPerDay;
+}
@@ -0,0 +1,16 @@
+package com.dlvery.dlvery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDeliveryResultDto {
+    private int index; // Position of the delivery in the submitted list
+    private boolean success;
+    private Long id;
+    private String deliveryId;
+    private String error;
+}
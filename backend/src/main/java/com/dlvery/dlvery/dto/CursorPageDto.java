@@ -0,0 +1,16 @@
+package com.dlvery.dlvery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+    private List<T> items;
+    private String nextCursor; // Opaque token for the next page, null on the last page
+    private boolean hasMore;
+}
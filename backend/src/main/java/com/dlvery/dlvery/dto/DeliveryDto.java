@@ -24,5 +24,5 @@ public class DeliveryDto {
     private List<DeliveryItemDto> items;
     private String notes;
     private String statusReason;
-    private String customerSignature; // Base64 encoded for frontend
+    private Boolean hasSignature; // Image served by GET /api/deliveries/{id}/signature
 }
@@ -0,0 +1,23 @@
+package com.dlvery.dlvery.dto;
+
+import com.dlvery.dlvery.entity.ImportFormat;
+import com.dlvery.dlvery.entity.ImportJobStatus;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+public class ImportJobDto {
+    private Long id;
+    private String filename;
+    private ImportFormat format;
+    private ImportJobStatus status;
+    private Integer rowsProcessed;
+    private Integer rowsSucceeded;
+    private Integer rowsFailed;
+    private Double rowsPerSecond;
+    private Integer lastCommittedRow;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,13 @@
+package com.dlvery.dlvery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowErrorDto {
+    private int rowNumber;
+    private String message;
+}
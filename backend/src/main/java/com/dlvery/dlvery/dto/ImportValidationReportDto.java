@@ -0,0 +1,18 @@
+package com.dlvery.dlvery.dto;
+
+import com.dlvery.dlvery.entity.ImportFormat;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ImportValidationReportDto {
+    private String filename;
+    private ImportFormat format;
+    private int rowsProcessed;
+    private int rowsValid;
+    private int rowsInvalid;
+    private List<ImportRowErrorDto> errors = new ArrayList<>(); // First rows that failed validation
+    private boolean errorsTruncated;
+}
@@ -10,13 +10,19 @@ import java.util.List;
 
 @Entity
 @Table(name = "deliveries")
+// Fetch plan for listings: items and their products load in the same query as the deliveries
+@NamedEntityGraph(name = Delivery.WITH_ITEMS, attributeNodes = @NamedAttributeNode(value = "items", subgraph = "items"),
+        subgraphs = @NamedSubgraph(name = "items", attributeNodes = @NamedAttributeNode("product")))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Delivery {
+
+    public static final String WITH_ITEMS = "Delivery.withItems";
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "deliveries_seq")
+    @SequenceGenerator(name = "deliveries_seq", sequenceName = "deliveries_seq", allocationSize = 50)
     private Long id;
     
     @Column(unique = true, nullable = false)
@@ -25,6 +31,11 @@ public class Delivery {
     @Column(nullable = false)
     private String deliveryAgent;
     
+    // Owning agent account; deliveryAgent keeps the display name shown to users
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "agent_user_id")
+    private User agentUser;
+    
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private DeliveryStatus status = DeliveryStatus.PENDING;
@@ -49,9 +60,9 @@ public class Delivery {
     
     private String customerPhone;
     
-    @Lob
-    @Column(name = "customer_signature", columnDefinition = "LONGBLOB")
-    private byte[] customerSignature;
+    // The image itself lives in delivery_signatures
+    @Column(nullable = false)
+    private Boolean hasSignature = false;
     
     @OneToMany(mappedBy = "delivery", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<DeliveryItem> items;
@@ -13,7 +13,8 @@ import lombok.AllArgsConstructor;
 public class DeliveryItem {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "delivery_items_seq")
+    @SequenceGenerator(name = "delivery_items_seq", sequenceName = "delivery_items_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,30 @@
+package com.dlvery.dlvery.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Links a delivery to its customer signature image. Kept out of the deliveries table so that
+ * delivery queries never touch signatures; the image bytes live in {@link SignatureBlob},
+ * shared by every delivery with identical content. Shares the delivery's id as its key.
+ */
+@Entity
+@Table(name = "delivery_signatures")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliverySignature {
+    
+    @Id
+    @Column(name = "delivery_id")
+    private Long deliveryId;
+    
+    @Column(name = "blob_hash", nullable = false, length = 64)
+    private String blobHash;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
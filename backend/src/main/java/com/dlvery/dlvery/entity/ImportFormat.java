@@ -0,0 +1,13 @@
+package com.dlvery.dlvery.entity;
+
+public enum ImportFormat {
+    CSV,
+    XLSX;
+
+    /**
+     * Pick the format from the uploaded file name; anything that is not .csv is read as XLSX
+     */
+    public static ImportFormat fromFilename(String filename) {
+        return filename != null && filename.toLowerCase().endsWith(".csv") ? CSV : XLSX;
+    }
+}
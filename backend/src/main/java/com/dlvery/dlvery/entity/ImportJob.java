@@ -0,0 +1,57 @@
+package com.dlvery.dlvery.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "import_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJob {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private String filename;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private ImportFormat format;
+    
+    @Column(length = 64)
+    private String checksum; // Hex SHA-256 of the uploaded file
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ImportJobStatus status = ImportJobStatus.QUEUED;
+    
+    @Column(nullable = false)
+    private Integer rowsProcessed = 0;
+    
+    @Column(nullable = false)
+    private Integer rowsSucceeded = 0;
+    
+    @Column(nullable = false)
+    private Integer rowsFailed = 0;
+    
+    @Column(nullable = false)
+    private Integer lastCommittedRow = 0; // File row up to which outcomes are committed; a retry resumes after it
+    
+    private String createdBy;
+    
+    @Column(length = 1000)
+    private String errorMessage; // Job-level failure such as an unreadable file
+    
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+    
+    private LocalDateTime startedAt;
+    
+    private LocalDateTime finishedAt;
+}
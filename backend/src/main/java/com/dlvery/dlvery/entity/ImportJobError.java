@@ -0,0 +1,28 @@
+package com.dlvery.dlvery.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Entity
+@Table(name = "import_job_errors")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobError {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "import_job_errors_seq")
+    @SequenceGenerator(name = "import_job_errors_seq", sequenceName = "import_job_errors_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+    
+    @Column(name = "row_num", nullable = false)
+    private Integer rowNumber;
+    
+    @Column(nullable = false, length = 1000)
+    private String message;
+}
@@ -0,0 +1,9 @@
+package com.dlvery.dlvery.entity;
+
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    INTERRUPTED // Still queued or running when the application stopped
+}
@@ -14,7 +14,8 @@ import java.time.LocalDateTime;
 public class InventoryMovement {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_movements_seq")
+    @SequenceGenerator(name = "inventory_movements_seq", sequenceName = "inventory_movements_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
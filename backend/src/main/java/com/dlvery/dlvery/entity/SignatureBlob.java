@@ -0,0 +1,35 @@
+package com.dlvery.dlvery.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Signature image content, stored once per distinct image and keyed by its SHA-256
+ */
+@Entity
+@Table(name = "signature_blobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SignatureBlob {
+    
+    @Id
+    @Column(length = 64)
+    private String hash; // Hex SHA-256 of data
+    
+    @Column(nullable = false, length = 50)
+    private String contentType;
+    
+    @Column(nullable = false)
+    private Integer sizeBytes;
+    
+    @Lob
+    @Column(nullable = false, columnDefinition = "LONGBLOB")
+    private byte[] data;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
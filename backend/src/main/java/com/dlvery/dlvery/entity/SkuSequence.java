@@ -0,0 +1,22 @@
+package com.dlvery.dlvery.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Entity
+@Table(name = "sku_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkuSequence {
+    
+    @Id
+    @Column(length = 10)
+    private String prefix;
+    
+    // First number not yet reserved by any application node
+    @Column(nullable = false)
+    private Long nextValue;
+}
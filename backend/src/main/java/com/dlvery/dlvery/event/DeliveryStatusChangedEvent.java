@@ -0,0 +1,9 @@
+package com.dlvery.dlvery.event;
+
+import com.dlvery.dlvery.entity.DeliveryStatus;
+
+/**
+ * A delivery moved between statuses; from is null for a newly created delivery.
+ */
+public record DeliveryStatusChangedEvent(DeliveryStatus from, DeliveryStatus to) {
+}
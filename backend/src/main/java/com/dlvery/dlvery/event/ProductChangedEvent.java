@@ -0,0 +1,26 @@
+package com.dlvery.dlvery.event;
+
+import com.dlvery.dlvery.entity.Product;
+import com.dlvery.dlvery.entity.ProductCategory;
+
+import java.time.LocalDate;
+
+/**
+ * A product was created (before is null), updated, or deleted (after is null).
+ */
+public record ProductChangedEvent(ProductState before, ProductState after) {
+
+    /**
+     * The product attributes the dashboard counts by
+     */
+    public record ProductState(ProductCategory category, boolean available, boolean damaged, LocalDate perishableExpiry) {
+
+        public static ProductState of(Product product) {
+            return new ProductState(
+                    product.getCategory(),
+                    product.getQuantity() != null && product.getQuantity() > 0,
+                    Boolean.TRUE.equals(product.getIsDamaged()),
+                    Boolean.TRUE.equals(product.getIsPerishable()) ? product.getExpiryDate() : null);
+        }
+    }
+}
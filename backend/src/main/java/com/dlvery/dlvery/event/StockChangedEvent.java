@@ -0,0 +1,10 @@
+package com.dlvery.dlvery.event;
+
+import java.util.Collection;
+
+/**
+ * Stock levels of the given products were changed by an in-place quantity update.
+ * availableDelta is the number of them that came back into stock minus those that ran out.
+ */
+public record StockChangedEvent(Collection<Long> productIds, int availableDelta) {
+}
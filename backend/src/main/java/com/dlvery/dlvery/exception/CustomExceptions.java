@@ -119,4 +119,15 @@ public class CustomExceptions {
         }
     }
 
-}
\ No newline at end of file
+    public static class ImportRejectedException extends RuntimeException {
+        public ImportRejectedException(String message) {
+            super(message);
+        }
+    }
+
+    public static class InvalidSignatureException extends RuntimeException {
+        public InvalidSignatureException(String message) {
+            super(message);
+        }
+    }
+}
@@ -109,6 +109,22 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
     }
 
+    @ExceptionHandler(CustomExceptions.ImportRejectedException.class)
+    public ResponseEntity<Map<String, String>> handleImportRejected(CustomExceptions.ImportRejectedException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        error.put("type", "IMPORT_QUEUE_FULL");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
+    @ExceptionHandler(CustomExceptions.InvalidSignatureException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidSignature(CustomExceptions.InvalidSignatureException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        error.put("type", "INVALID_SIGNATURE");
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
     @ExceptionHandler(org.springframework.dao.DataIntegrityViolationException.class)
     public ResponseEntity<Map<String, String>> handleDataIntegrityViolation(
             org.springframework.dao.DataIntegrityViolationException ex) {
@@ -0,0 +1,161 @@
+package com.dlvery.dlvery.importer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Streaming RFC 4180 style CSV reader: comma separated, fields optionally quoted with
+ * {@code "}, quotes escaped by doubling, line breaks allowed inside quoted fields, and
+ * LF, CRLF or CR row endings. Input is read through one reusable char buffer and each
+ * field is assembled in a reused StringBuilder, so a cell costs exactly one String.
+ * Row numbers are the 1-based line on which the row starts.
+ */
+public class CsvRowReader implements ImportRowReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Override
+    public void read(Path file, Consumer<ImportRow> rowConsumer) throws IOException {
+        try (InputStream input = Files.newInputStream(file)) {
+            read(input, rowConsumer);
+        }
+    }
+
+    /**
+     * Read UTF-8 CSV straight from a stream, e.g. the request body; the stream is not closed
+     */
+    public void read(InputStream input, Consumer<ImportRow> rowConsumer) throws IOException {
+        read(new InputStreamReader(input, StandardCharsets.UTF_8), rowConsumer);
+    }
+
+    void read(Reader reader, Consumer<ImportRow> rowConsumer) throws IOException {
+        new Parser(rowConsumer).parse(reader);
+    }
+
+    private static final class Parser {
+
+        private final Consumer<ImportRow> rowConsumer;
+        private final char[] buffer = new char[BUFFER_SIZE];
+        private final StringBuilder field = new StringBuilder();
+        private final List<String> cells = new ArrayList<>();
+
+        private int line = 1;
+        private int rowStartLine = 1;
+        private boolean inQuotes;
+        private boolean quoteInQuotes;
+        private boolean fieldStart = true;
+        private boolean afterCarriageReturn;
+        private boolean rowHasContent;
+
+        private Parser(Consumer<ImportRow> rowConsumer) {
+            this.rowConsumer = rowConsumer;
+        }
+
+        private void parse(Reader reader) throws IOException {
+            boolean firstChunk = true;
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                int start = 0;
+                if (firstChunk && read > 0) {
+                    firstChunk = false;
+                    if (buffer[0] == '\uFEFF') {
+                        start = 1; // UTF-8 byte order mark written by Excel
+                    }
+                }
+                for (int i = start; i < read; i++) {
+                    accept(buffer[i]);
+                }
+            }
+            finish();
+        }
+
+        private void accept(char c) {
+            if (afterCarriageReturn) {
+                afterCarriageReturn = false;
+                if (c == '\n') {
+                    return; // second half of CRLF
+                }
+            }
+
+            if (inQuotes) {
+                if (quoteInQuotes) {
+                    quoteInQuotes = false;
+                    if (c == '"') {
+                        field.append('"'); // escaped quote
+                        return;
+                    }
+                    inQuotes = false; // the previous quote closed the field; handle c as unquoted
+                } else if (c == '"') {
+                    quoteInQuotes = true;
+                    return;
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append(c);
+                    return;
+                }
+            }
+
+            switch (c) {
+                case ',' -> endField();
+                case '\r' -> {
+                    afterCarriageReturn = true;
+                    endRow();
+                }
+                case '\n' -> endRow();
+                case '"' -> {
+                    if (fieldStart) {
+                        inQuotes = true;
+                        fieldStart = false;
+                    } else {
+                        field.append(c);
+                    }
+                }
+                default -> {
+                    field.append(c);
+                    fieldStart = false;
+                }
+            }
+        }
+
+        private void endField() {
+            String value = field.isEmpty() ? "" : field.toString();
+            if (!value.isBlank()) {
+                rowHasContent = true;
+            }
+            cells.add(value);
+            field.setLength(0);
+            fieldStart = true;
+        }
+
+        private void endRow() {
+            endField();
+            if (rowHasContent) {
+                rowConsumer.accept(new ImportRow(rowStartLine, cells.toArray(new String[0])));
+            }
+            cells.clear();
+            rowHasContent = false;
+            line++;
+            rowStartLine = line;
+        }
+
+        private void finish() throws IOException {
+            if (inQuotes && !quoteInQuotes) {
+                throw new IOException("Unterminated quoted field starting on line " + rowStartLine);
+            }
+            inQuotes = false;
+            if (!fieldStart || !field.isEmpty() || !cells.isEmpty()) {
+                endRow();
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.dlvery.dlvery.importer;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Parses the expiry date formats accepted by imports without trial-and-error formatting.
+ * The layout is recognised from the separator positions in one pass over the characters:
+ * <ul>
+ *   <li>{@code yyyy-MM-dd}, {@code yyyy/MM/dd}, {@code yyyy.MM.dd}</li>
+ *   <li>{@code dd-MM-yyyy}, {@code dd.MM.yyyy}</li>
+ *   <li>{@code MM/dd/yyyy}, falling back to {@code dd/MM/yyyy} when the first field is not a month</li>
+ * </ul>
+ * Unrecognised or impossible dates return null rather than throwing.
+ */
+public final class ImportDateParser {
+
+    private static final int LENGTH = 10;
+
+    private ImportDateParser() {
+    }
+
+    public static LocalDate parse(String value) {
+        if (value == null || value.length() != LENGTH) {
+            return null;
+        }
+        if (isSeparator(value.charAt(4)) && value.charAt(7) == value.charAt(4)) {
+            // Year first: yyyy?MM?dd
+            return toDate(digits(value, 0, 4), digits(value, 5, 7), digits(value, 8, 10));
+        }
+        if (isSeparator(value.charAt(2)) && value.charAt(5) == value.charAt(2)) {
+            char separator = value.charAt(2);
+            int first = digits(value, 0, 2);
+            int second = digits(value, 3, 5);
+            int year = digits(value, 6, 10);
+            if (separator == '/') {
+                // US order wins when both readings are valid
+                LocalDate monthFirst = toDate(year, first, second);
+                return monthFirst != null ? monthFirst : toDate(year, second, first);
+            }
+            return toDate(year, second, first);
+        }
+        return null;
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '-' || c == '/' || c == '.';
+    }
+
+    /**
+     * Value of the decimal digits in [from, to), or -1 if any character is not a digit
+     */
+    private static int digits(String value, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static LocalDate toDate(int year, int month, int day) {
+        if (year < 0 || month < 1 || month > 12 || day < 1) {
+            return null;
+        }
+        if (day > YearMonth.of(year, month).lengthOfMonth()) {
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+}
@@ -0,0 +1,19 @@
+package com.dlvery.dlvery.importer;
+
+/**
+ * Receives the outcome of each data row of an import. Outcomes are reported in file order,
+ * inside the transaction that writes the rows' chunk, followed by a checkpoint for the chunk.
+ */
+public interface ImportProgressListener {
+
+    void rowImported(int rowNumber);
+
+    void rowFailed(int rowNumber, String message);
+
+    /**
+     * Every row up to and including lastRowNumber has been reported. Called inside the
+     * transaction that writes those rows, so state saved here commits or rolls back with them.
+     */
+    default void checkpoint(int lastRowNumber) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.dlvery.dlvery.importer;
+
+/**
+ * One non-empty row of an import file. rowNumber is 1-based as shown in a spreadsheet or editor;
+ * cells are positional and may be shorter than the header when trailing cells are empty.
+ */
+public record ImportRow(int rowNumber, String[] cells) {
+
+    public String cell(int index) {
+        if (index >= cells.length || cells[index] == null) {
+            return "";
+        }
+        return cells[index].trim();
+    }
+
+    public int size() {
+        return cells.length;
+    }
+}
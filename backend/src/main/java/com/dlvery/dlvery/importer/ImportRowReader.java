@@ -0,0 +1,14 @@
+package com.dlvery.dlvery.importer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Streams the rows of an import file to a consumer one at a time, skipping empty rows.
+ * Implementations must not hold more than the current row in memory.
+ */
+public interface ImportRowReader {
+
+    void read(Path file, Consumer<ImportRow> rowConsumer) throws IOException;
+}
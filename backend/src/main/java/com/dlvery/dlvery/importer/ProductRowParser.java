@@ -0,0 +1,107 @@
+package com.dlvery.dlvery.importer;
+
+import com.dlvery.dlvery.dto.ProductDto;
+import com.dlvery.dlvery.entity.ProductCategory;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Turns import rows into products. Column layout (SKU is generated from the category):
+ * 0=name, 1=description, 2=category, 3=quantity, 4=unitPrice, 5=isDamaged, 6=isPerishable, 7=expiryDate.
+ * Invalid rows raise {@link IllegalArgumentException} with a message meant for the uploader.
+ */
+public class ProductRowParser {
+
+    private static final int REQUIRED_COLUMNS = 5;
+
+    private static final String VALID_CATEGORIES = Arrays.stream(ProductCategory.values())
+            .map(Enum::name)
+            .collect(Collectors.joining(", "));
+
+    // Lookup by enum name, so an unknown category is a map miss rather than a thrown exception
+    private static final Map<String, ProductCategory> CATEGORIES = Arrays.stream(ProductCategory.values())
+            .collect(Collectors.toUnmodifiableMap(Enum::name, Function.identity()));
+
+    /**
+     * The header row has "name" (or the legacy "sku") in its first column; rows above it are info rows
+     */
+    public boolean isHeader(ImportRow row) {
+        String first = row.cell(0).toLowerCase();
+        return first.equals("name") || first.equals("sku");
+    }
+
+    public ProductDto parse(ImportRow row) {
+        if (row.size() < REQUIRED_COLUMNS) {
+            throw new IllegalArgumentException("Insufficient columns. Expected at least 5 columns (name,description,category,quantity,unitPrice)");
+        }
+
+        ProductDto product = new ProductDto();
+
+        String name = row.cell(0);
+        if (name.isEmpty()) {
+            throw new IllegalArgumentException("Product name cannot be empty");
+        }
+        product.setName(name);
+        product.setDescription(row.cell(1));
+        product.setCategory(parseCategory(row.cell(2)));
+        product.setQuantity(parseQuantity(row.cell(3)));
+        product.setUnitPrice(parseUnitPrice(row.cell(4)));
+
+        product.setIsDamaged(Boolean.parseBoolean(row.cell(5)));
+        product.setIsPerishable(Boolean.parseBoolean(row.cell(6)));
+
+        String expiryDate = row.cell(7);
+        if (!expiryDate.isEmpty()) {
+            product.setExpiryDate(parseDate(expiryDate));
+        }
+
+        return product;
+    }
+
+    private ProductCategory parseCategory(String value) {
+        ProductCategory category = CATEGORIES.get(value.toUpperCase().replace(" ", "_"));
+        if (category == null) {
+            throw new IllegalArgumentException("Invalid category '" + value + "'. Valid categories: " + VALID_CATEGORIES);
+        }
+        return category;
+    }
+
+    private int parseQuantity(String value) {
+        int quantity;
+        try {
+            quantity = (int) Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid quantity. Must be a number");
+        }
+        if (quantity < 0) {
+            throw new IllegalArgumentException("Quantity cannot be negative");
+        }
+        return quantity;
+    }
+
+    private BigDecimal parseUnitPrice(String value) {
+        BigDecimal unitPrice;
+        try {
+            unitPrice = new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid unit price. Must be a number");
+        }
+        if (unitPrice.signum() < 0) {
+            throw new IllegalArgumentException("Unit price cannot be negative");
+        }
+        return unitPrice;
+    }
+
+    private LocalDate parseDate(String value) {
+        LocalDate date = ImportDateParser.parse(value);
+        if (date != null) {
+            return date;
+        }
+        throw new IllegalArgumentException("Invalid expiry date '" + value + "'. Supported formats: YYYY-MM-DD, DD-MM-YYYY, MM/DD/YYYY, DD/MM/YYYY");
+    }
+}
@@ -0,0 +1,115 @@
+package com.dlvery.dlvery.importer;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads the first sheet of an XLSX file with POI's SAX event API instead of building a workbook,
+ * so memory stays flat regardless of the number of rows. Numbers are emitted as plain decimal
+ * text and date-formatted cells as ISO dates (yyyy-MM-dd), independent of the cell's display format.
+ */
+public class XlsxRowReader implements ImportRowReader {
+
+    @Override
+    public void read(Path file, Consumer<ImportRow> rowConsumer) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                throw new IOException("The XLSX file contains no sheets");
+            }
+
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(styles, null, sharedStrings,
+                        new RowCollector(rowConsumer), new ImportDataFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Invalid XLSX file: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Collects the cells of the current row by column index and hands non-empty rows to the consumer
+     */
+    private static final class RowCollector implements SheetContentsHandler {
+
+        private final Consumer<ImportRow> rowConsumer;
+        private final List<String> cells = new ArrayList<>();
+        private boolean hasContent;
+        private int nextColumn;
+
+        private RowCollector(Consumer<ImportRow> rowConsumer) {
+            this.rowConsumer = rowConsumer;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+            hasContent = false;
+            nextColumn = 0;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (hasContent) {
+                rowConsumer.accept(new ImportRow(rowNum + 1, cells.toArray(new String[0])));
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : nextColumn;
+            while (cells.size() < column) {
+                cells.add("");
+            }
+            cells.add(formattedValue);
+            nextColumn = column + 1;
+            if (formattedValue != null && !formattedValue.isBlank()) {
+                hasContent = true;
+            }
+        }
+    }
+
+    /**
+     * Formats numeric cells for parsing rather than display
+     */
+    private static final class ImportDataFormatter extends DataFormatter {
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value).toLocalDate().toString();
+            }
+            return NumberToTextConverter.toText(value);
+        }
+    }
+}
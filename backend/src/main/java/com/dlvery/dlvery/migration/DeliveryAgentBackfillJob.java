@@ -0,0 +1,171 @@
+package com.dlvery.dlvery.migration;
+
+import com.dlvery.dlvery.repository.DeliveryRepository;
+import com.dlvery.dlvery.repository.DeliveryRepository.DeliveryAgentRef;
+import com.dlvery.dlvery.repository.UserRepository;
+import com.dlvery.dlvery.service.AgentDirectoryService;
+import com.dlvery.dlvery.service.AgentDirectoryService.Agent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One-time background migration of the delivery agent columns: rewrites rows that still
+ * store the agent username instead of the display name, then links rows without an
+ * agent_user_id to the matching agent account. Both passes look up only the rows storing a
+ * known agent name, through the delivery_agent index, one short transaction per batch; once
+ * every row has been migrated a start costs those index probes, not a table walk. Agent views
+ * fall back to the stored name for rows that are not linked yet, so they stay visible meanwhile.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DeliveryAgentBackfillJob {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final DeliveryRepository deliveryRepository;
+    private final AgentDirectoryService agentDirectoryService;
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillDeliveryAgents() {
+        backfillAgentDisplayNames();
+        backfillAgentUsers();
+    }
+
+    private void backfillAgentDisplayNames() {
+        try {
+            // Only usernames whose display name differs; the others are already migrated
+            Map<String, String> displayNames = new HashMap<>(agentDirectoryService.getDisplayNames());
+            displayNames.entrySet().removeIf(entry -> entry.getKey().equals(entry.getValue()));
+            if (displayNames.isEmpty()) {
+                return;
+            }
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+            long afterId = 0;
+            int updated = 0;
+            while (true) {
+                List<DeliveryAgentRef> batch = deliveryRepository.findByAgentNamesAfter(
+                        displayNames.keySet(), afterId, Limit.of(BATCH_SIZE));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                afterId = batch.get(batch.size() - 1).getId();
+
+                // Group the batch by target display name so each name costs one UPDATE
+                Map<String, List<Long>> idsByDisplayName = new HashMap<>();
+                for (DeliveryAgentRef ref : batch) {
+                    String displayName = displayNames.get(ref.getDeliveryAgent());
+                    if (displayName != null) {
+                        idsByDisplayName.computeIfAbsent(displayName, key -> new ArrayList<>()).add(ref.getId());
+                    }
+                }
+
+                if (!idsByDisplayName.isEmpty()) {
+                    updated += transactionTemplate.execute(status -> {
+                        int count = 0;
+                        for (Map.Entry<String, List<Long>> entry : idsByDisplayName.entrySet()) {
+                            count += deliveryRepository.updateDeliveryAgent(entry.getValue(), entry.getKey());
+                        }
+                        return count;
+                    });
+                }
+            }
+
+            if (updated > 0) {
+                log.info("Backfilled agent display names for {} deliveries", updated);
+            }
+        } catch (Exception e) {
+            log.error("Delivery agent name backfill failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void backfillAgentUsers() {
+        try {
+            Map<String, Long> userIdsByName = agentUserIdsByName();
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+            long afterId = 0;
+            int updated = 0;
+            while (!userIdsByName.isEmpty()) {
+                List<DeliveryAgentRef> batch = deliveryRepository.findUnlinkedByAgentNamesAfter(
+                        userIdsByName.keySet(), afterId, Limit.of(BATCH_SIZE));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                afterId = batch.get(batch.size() - 1).getId();
+
+                Map<Long, List<Long>> idsByUserId = new HashMap<>();
+                for (DeliveryAgentRef ref : batch) {
+                    Long userId = userIdsByName.get(ref.getDeliveryAgent());
+                    if (userId != null) {
+                        idsByUserId.computeIfAbsent(userId, key -> new ArrayList<>()).add(ref.getId());
+                    }
+                }
+
+                if (!idsByUserId.isEmpty()) {
+                    updated += transactionTemplate.execute(status -> {
+                        int count = 0;
+                        for (Map.Entry<Long, List<Long>> entry : idsByUserId.entrySet()) {
+                            count += deliveryRepository.updateAgentUser(entry.getValue(),
+                                    userRepository.getReferenceById(entry.getKey()));
+                        }
+                        return count;
+                    });
+                }
+            }
+
+            if (updated > 0) {
+                log.info("Linked {} deliveries to their agent accounts", updated);
+            }
+            // Unlinked rows stay visible to agents through the stored name, but are worth fixing.
+            // A range over the NULL entries of the agent_user_id index, not a table scan
+            long unlinked = deliveryRepository.countByAgentUserIsNull();
+            if (unlinked > 0) {
+                log.warn("{} deliveries have an agent name that matches no agent account and remain unlinked", unlinked);
+            }
+        } catch (Exception e) {
+            log.error("Delivery agent user backfill failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Stored agent values are either a username or a display name. Usernames are unique;
+     * display names shared by several agents are ambiguous and left unlinked.
+     */
+    private Map<String, Long> agentUserIdsByName() {
+        List<Agent> agents = agentDirectoryService.findAllAgents();
+        Map<String, Long> byDisplayName = new HashMap<>();
+        Set<String> ambiguous = new HashSet<>();
+        for (Agent agent : agents) {
+            Long previous = byDisplayName.putIfAbsent(agent.displayName(), agent.userId());
+            if (previous != null && !previous.equals(agent.userId())) {
+                ambiguous.add(agent.displayName());
+            }
+        }
+        byDisplayName.keySet().removeAll(ambiguous);
+
+        Map<String, Long> byName = new HashMap<>(byDisplayName);
+        for (Agent agent : agents) {
+            byName.put(agent.username(), agent.userId());
+        }
+        return byName;
+    }
+}
@@ -0,0 +1,90 @@
+package com.dlvery.dlvery.migration;
+
+import com.dlvery.dlvery.service.DeliverySignatureService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * One-time background migration of signature images from the legacy
+ * deliveries.customer_signature column into delivery_signatures. Each batch copies the
+ * images, flags the deliveries and clears the legacy bytes in one transaction, so the job
+ * can stop at any point and is a no-op once the column is empty or gone.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SignatureBackfillJob {
+
+    // Signatures can be large; keep each transaction's working set small
+    private static final int BATCH_SIZE = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DeliverySignatureService signatureService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void moveSignatures() {
+        try {
+            if (!hasLegacyColumn()) {
+                return;
+            }
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+            long afterId = 0;
+            int moved = 0;
+            while (true) {
+                long from = afterId;
+                List<Long> ids = transactionTemplate.execute(status -> moveBatch(from));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                afterId = ids.get(ids.size() - 1);
+                moved += ids.size();
+            }
+
+            if (moved > 0) {
+                log.info("Moved {} delivery signatures to delivery_signatures", moved);
+            }
+        } catch (Exception e) {
+            log.error("Delivery signature backfill failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private List<Long> moveBatch(long afterId) {
+        List<LegacySignature> batch = jdbcTemplate.query(
+                "SELECT id, customer_signature FROM deliveries WHERE id > ? AND customer_signature IS NOT NULL ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new LegacySignature(rs.getLong(1), rs.getBytes(2)),
+                afterId, BATCH_SIZE);
+        List<Long> ids = batch.stream().map(LegacySignature::deliveryId).toList();
+        if (!batch.isEmpty()) {
+            batch.forEach(signature -> signatureService.storeLegacySignature(signature.deliveryId(), signature.data()));
+            jdbcTemplate.batchUpdate("UPDATE deliveries SET has_signature = TRUE, customer_signature = NULL WHERE id = ?",
+                    ids, ids.size(), (ps, id) -> ps.setLong(1, id));
+        }
+        return ids;
+    }
+
+    private boolean hasLegacyColumn() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            try (ResultSet columns = connection.getMetaData()
+                    .getColumns(connection.getCatalog(), null, "deliveries", "customer_signature")) {
+                return columns.next();
+            }
+        }));
+    }
+
+    private record LegacySignature(long deliveryId, byte[] data) {
+    }
+}
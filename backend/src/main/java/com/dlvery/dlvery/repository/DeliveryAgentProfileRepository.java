@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -22,4 +23,12 @@ public interface DeliveryAgentProfileRepository extends JpaRepository<DeliveryAg
     boolean existsByUser(User user);
     
     boolean existsByUserId(Long userId);
+    
+    @Query("SELECT u.username AS username, p.displayName AS displayName FROM DeliveryAgentProfile p JOIN p.user u WHERE p.displayName IS NOT NULL")
+    List<AgentDisplayName> findAllDisplayNames();
+    
+    interface AgentDisplayName {
+        String getUsername();
+        String getDisplayName();
+    }
 }
\ No newline at end of file
@@ -1,27 +1,59 @@
 package com.dlvery.dlvery.repository;
 
 import com.dlvery.dlvery.entity.Delivery;
+import com.dlvery.dlvery.entity.DeliveryPriority;
 import com.dlvery.dlvery.entity.DeliveryStatus;
+import com.dlvery.dlvery.entity.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface DeliveryRepository extends JpaRepository<Delivery, Long> {
-    
+public interface DeliveryRepository extends JpaRepository<Delivery, Long>, JpaSpecificationExecutor<Delivery> {
+
+    // Listings are converted to DTOs that walk items and products; the entity graph fetches
+    // them with the deliveries instead of one lazy load per delivery and per item
+    @Override
+    @EntityGraph(Delivery.WITH_ITEMS)
+    List<Delivery> findAll();
+
+    @EntityGraph(Delivery.WITH_ITEMS)
     List<Delivery> findByDeliveryAgent(String deliveryAgent);
 
+    @EntityGraph(Delivery.WITH_ITEMS)
     List<Delivery> findByStatus(DeliveryStatus status);
 
+    @EntityGraph(Delivery.WITH_ITEMS)
+    List<Delivery> findByIdIn(Collection<Long> ids);
+
     long countByStatus(DeliveryStatus status);
-    
+
+    // Aggregates are projected straight from GROUP BY queries; no entities are hydrated
+    @Query("SELECT d.status AS status, COUNT(d) AS total FROM Delivery d GROUP BY d.status")
+    List<StatusCount> countGroupedByStatus();
+
+    @Query("SELECT d.priority AS priority, COUNT(d) AS total FROM Delivery d GROUP BY d.priority")
+    List<PriorityCount> countGroupedByPriority();
+
+    @Query("SELECT CAST(d.deliveredAt AS LocalDate) AS deliveredOn, COUNT(d) AS total FROM Delivery d " +
+           "WHERE d.status = :status AND d.deliveredAt >= :since GROUP BY CAST(d.deliveredAt AS LocalDate)")
+    List<DayCount> countPerDeliveryDay(@Param("status") DeliveryStatus status, @Param("since") LocalDateTime since);
+
+    @EntityGraph(Delivery.WITH_ITEMS)
     @Query("SELECT d FROM Delivery d WHERE d.createdAt BETWEEN :startDate AND :endDate")
     List<Delivery> findByDateRange(@Param("startDate") LocalDateTime startDate, 
                                  @Param("endDate") LocalDateTime endDate);
-    
+
+    @EntityGraph(Delivery.WITH_ITEMS)
     @Query("SELECT d FROM Delivery d WHERE d.status = :status AND d.deliveryAgent = :agent")
     List<Delivery> findByStatusAndAgent(@Param("status") DeliveryStatus status, 
                                       @Param("agent") String agent);
@@ -31,7 +63,8 @@ public interface DeliveryRepository extends JpaRepository<Delivery, Long> {
      
      @Query("SELECT CASE WHEN COUNT(d) > 0 THEN true ELSE false END FROM Delivery d JOIN d.items di WHERE di.product.id = :productId")
      boolean existsByItemsProductId(@Param("productId") Long productId);
-     
+
+     @EntityGraph(Delivery.WITH_ITEMS)
      @Query("SELECT d FROM Delivery d WHERE d.status = :status AND d.deliveredAt BETWEEN :startDate AND :endDate")
      List<Delivery> findByStatusAndDateRange(@Param("status") DeliveryStatus status,
                                            @Param("startDate") LocalDateTime startDate,
@@ -40,20 +73,60 @@ public interface DeliveryRepository extends JpaRepository<Delivery, Long> {
      @Query("SELECT DISTINCT d.deliveryAgent FROM Delivery d WHERE d.deliveryAgent IS NOT NULL ORDER BY d.deliveryAgent")
      List<String> findAllDeliveryAgents();
      
-     // Delivery Agent specific queries
-     @Query("SELECT d FROM Delivery d LEFT JOIN FETCH d.items WHERE d.deliveryAgent = :agent AND d.scheduledDate = CURRENT_DATE AND d.status IN ('PENDING', 'ASSIGNED', 'IN_TRANSIT') ORDER BY d.priority ASC")
-     List<Delivery> findTodaysDeliveriesByAgent(@Param("agent") String agent);
+     // Delivery Agent specific queries (indexed by agent_user_id). Rows the backfill has not linked
+     // yet, or could not link, still match on the stored agent name as before
+     @EntityGraph(Delivery.WITH_ITEMS)
+     @Query("SELECT d FROM Delivery d WHERE (d.agentUser.id = :agentUserId OR (d.agentUser IS NULL AND d.deliveryAgent IN :agentNames)) AND d.scheduledDate = CURRENT_DATE AND d.status IN ('PENDING', 'ASSIGNED', 'IN_TRANSIT') ORDER BY d.priority ASC")
+     List<Delivery> findTodaysDeliveriesByAgent(@Param("agentUserId") Long agentUserId,
+                                                   @Param("agentNames") Collection<String> agentNames);
 
-     @Query("SELECT d FROM Delivery d LEFT JOIN FETCH d.items WHERE d.deliveryAgent = :agent AND d.status IN ('PENDING', 'ASSIGNED', 'IN_TRANSIT') AND d.scheduledDate <= CURRENT_DATE ORDER BY d.priority ASC, d.scheduledDate ASC")
-     List<Delivery> findPendingDeliveriesByAgent(@Param("agent") String agent);
-     
-     // Alternative queries for matching by user full name or email
-     @Query("SELECT d FROM Delivery d WHERE (d.deliveryAgent = :agentName OR d.deliveryAgent = :agentEmail) AND d.scheduledDate = CURRENT_DATE ORDER BY d.priority ASC")
-     List<Delivery> findTodaysDeliveriesByAgentNameOrEmail(@Param("agentName") String agentName, @Param("agentEmail") String agentEmail);
-     
-     @Query("SELECT d FROM Delivery d WHERE (d.deliveryAgent = :agentName OR d.deliveryAgent = :agentEmail) AND d.status IN ('PENDING', 'ASSIGNED', 'IN_TRANSIT') AND d.scheduledDate <= CURRENT_DATE ORDER BY d.priority ASC, d.scheduledDate ASC")
-     List<Delivery> findPendingDeliveriesByAgentNameOrEmail(@Param("agentName") String agentName, @Param("agentEmail") String agentEmail);
+     @EntityGraph(Delivery.WITH_ITEMS)
+     @Query("SELECT d FROM Delivery d WHERE (d.agentUser.id = :agentUserId OR (d.agentUser IS NULL AND d.deliveryAgent IN :agentNames)) AND d.status IN ('PENDING', 'ASSIGNED', 'IN_TRANSIT') AND d.scheduledDate <= CURRENT_DATE ORDER BY d.priority ASC, d.scheduledDate ASC")
+     List<Delivery> findPendingDeliveriesByAgent(@Param("agentUserId") Long agentUserId,
+                                                   @Param("agentNames") Collection<String> agentNames);
      
-     @Query("SELECT d FROM Delivery d LEFT JOIN FETCH d.items WHERE d.deliveryAgent = :agent AND d.status IN ('DELIVERED', 'RETURNED', 'DAMAGED_IN_TRANSIT', 'DOOR_LOCKED') ORDER BY d.createdAt DESC")
-     List<Delivery> findDeliveredDeliveriesByAgent(@Param("agent") String agent);
+     @EntityGraph(Delivery.WITH_ITEMS)
+     @Query("SELECT d FROM Delivery d WHERE (d.agentUser.id = :agentUserId OR (d.agentUser IS NULL AND d.deliveryAgent IN :agentNames)) AND d.status IN ('DELIVERED', 'RETURNED', 'DAMAGED_IN_TRANSIT', 'DOOR_LOCKED') ORDER BY d.createdAt DESC")
+     List<Delivery> findDeliveredDeliveriesByAgent(@Param("agentUserId") Long agentUserId,
+                                                   @Param("agentNames") Collection<String> agentNames);
+
+     // Agent name backfill: rows that still store one of the given usernames, found through the delivery_agent index
+     @Query("SELECT d.id AS id, d.deliveryAgent AS deliveryAgent FROM Delivery d WHERE d.deliveryAgent IN :usernames AND d.id > :afterId ORDER BY d.id")
+     List<DeliveryAgentRef> findByAgentNamesAfter(@Param("usernames") Collection<String> usernames,
+                                                  @Param("afterId") Long afterId, Limit limit);
+
+     @Modifying
+     @Query("UPDATE Delivery d SET d.deliveryAgent = :displayName WHERE d.id IN :ids")
+     int updateDeliveryAgent(@Param("ids") Collection<Long> ids, @Param("displayName") String displayName);
+
+     // Agent user backfill: rows created before agent_user_id existed whose stored name identifies an agent
+     @Query("SELECT d.id AS id, d.deliveryAgent AS deliveryAgent FROM Delivery d WHERE d.agentUser IS NULL AND d.deliveryAgent IN :agentNames AND d.id > :afterId ORDER BY d.id")
+     List<DeliveryAgentRef> findUnlinkedByAgentNamesAfter(@Param("agentNames") Collection<String> agentNames,
+                                                          @Param("afterId") Long afterId, Limit limit);
+
+     @Modifying
+     @Query("UPDATE Delivery d SET d.agentUser = :agentUser WHERE d.id IN :ids AND d.agentUser IS NULL")
+     int updateAgentUser(@Param("ids") Collection<Long> ids, @Param("agentUser") User agentUser);
+
+     long countByAgentUserIsNull();
+
+     interface StatusCount {
+         DeliveryStatus getStatus();
+         long getTotal();
+     }
+
+     interface PriorityCount {
+         DeliveryPriority getPriority();
+         long getTotal();
+     }
+
+     interface DayCount {
+         LocalDate getDeliveredOn();
+         long getTotal();
+     }
+
+     interface DeliveryAgentRef {
+         Long getId();
+         String getDeliveryAgent();
+     }
 }
\ No newline at end of file
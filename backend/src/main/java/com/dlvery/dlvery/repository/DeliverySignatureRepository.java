@@ -0,0 +1,9 @@
+package com.dlvery.dlvery.repository;
+
+import com.dlvery.dlvery.entity.DeliverySignature;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DeliverySignatureRepository extends JpaRepository<DeliverySignature, Long> {
+}
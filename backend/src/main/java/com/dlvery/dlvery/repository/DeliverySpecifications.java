@@ -0,0 +1,90 @@
+package com.dlvery.dlvery.repository;
+
+import com.dlvery.dlvery.entity.Delivery;
+import com.dlvery.dlvery.entity.DeliveryItem;
+import com.dlvery.dlvery.entity.DeliveryPriority;
+import com.dlvery.dlvery.entity.DeliveryStatus;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Composable delivery filters. Text filters are prefix matches so they can use the
+ * column indexes; SKU filtering is an EXISTS over delivery_items instead of a join.
+ */
+public final class DeliverySpecifications {
+
+    private DeliverySpecifications() {
+    }
+
+    public static Specification<Delivery> hasSku(String sku) {
+        return (root, query, cb) -> {
+            Subquery<Long> items = query.subquery(Long.class);
+            var item = items.from(DeliveryItem.class);
+            items.select(item.get("id"))
+                    .where(cb.equal(item.get("delivery"), root),
+                           cb.equal(item.get("product").get("sku"), sku));
+            return cb.exists(items);
+        };
+    }
+
+    /**
+     * Deliveries owned by one of the given agent accounts, or not yet linked to an account and
+     * storing an agent name that starts with the search text. Both branches are ranges of the
+     * agent_user_id index (the ids and NULL), so the OR needs no index merge.
+     */
+    public static Specification<Delivery> agentMatches(Collection<Long> agentUserIds, String agentPrefix) {
+        return (root, query, cb) -> {
+            Predicate unlinkedByName = cb.and(cb.isNull(root.get("agentUser")),
+                    cb.like(root.get("deliveryAgent"), likePrefix(agentPrefix), '\\'));
+            if (agentUserIds.isEmpty()) {
+                return unlinkedByName;
+            }
+            return cb.or(root.get("agentUser").get("id").in(agentUserIds), unlinkedByName);
+        };
+    }
+
+    public static Specification<Delivery> customerNameStartsWith(String prefix) {
+        return (root, query, cb) -> cb.like(root.get("customerName"), likePrefix(prefix), '\\');
+    }
+
+    public static Specification<Delivery> deliveryIdStartsWith(String prefix) {
+        return (root, query, cb) -> cb.like(root.get("deliveryId"), likePrefix(prefix), '\\');
+    }
+
+    public static Specification<Delivery> hasStatus(DeliveryStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Delivery> hasPriority(DeliveryPriority priority) {
+        return (root, query, cb) -> cb.equal(root.get("priority"), priority);
+    }
+
+    public static Specification<Delivery> createdOnOrAfter(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+    }
+
+    public static Specification<Delivery> createdBefore(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThan(root.get("createdAt"), to);
+    }
+
+    /**
+     * Keyset position for (createdAt DESC, id DESC) ordering: rows strictly after the given row
+     */
+    public static Specification<Delivery> afterKeyset(LocalDateTime createdAt, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), createdAt),
+                cb.and(cb.equal(root.get("createdAt"), createdAt), cb.lessThan(root.get("id"), id)));
+    }
+
+    public static Specification<Delivery> idLessThan(Long id) {
+        return (root, query, cb) -> cb.lessThan(root.get("id"), id);
+    }
+
+    private static String likePrefix(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+}
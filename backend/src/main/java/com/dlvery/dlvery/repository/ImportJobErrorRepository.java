@@ -0,0 +1,21 @@
+package com.dlvery.dlvery.repository;
+
+import com.dlvery.dlvery.entity.ImportJobError;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.stream.Stream;
+
+@Repository
+public interface ImportJobErrorRepository extends JpaRepository<ImportJobError, Long> {
+
+    // Streamed for the error report download; must be consumed inside a transaction and closed.
+    // MySQL buffers the result, which app.import.max-stored-errors keeps bounded
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT e FROM ImportJobError e WHERE e.jobId = :jobId ORDER BY e.rowNumber")
+    Stream<ImportJobError> streamByJobId(@Param("jobId") Long jobId);
+}
@@ -0,0 +1,30 @@
+package com.dlvery.dlvery.repository;
+
+import com.dlvery.dlvery.entity.ImportJob;
+import com.dlvery.dlvery.entity.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    Optional<ImportJob> findFirstByChecksumOrderByIdDesc(String checksum);
+
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.lastCommittedRow = :lastRow, j.rowsProcessed = :processed, " +
+           "j.rowsSucceeded = :succeeded, j.rowsFailed = :failed WHERE j.id = :id")
+    int updateProgress(@Param("id") Long id, @Param("lastRow") int lastRow, @Param("processed") int processed,
+                       @Param("succeeded") int succeeded, @Param("failed") int failed);
+
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.status = :interrupted, j.finishedAt = :now WHERE j.status IN :statuses")
+    int markInterrupted(@Param("statuses") Collection<ImportJobStatus> statuses,
+                        @Param("interrupted") ImportJobStatus interrupted, @Param("now") LocalDateTime now);
+}
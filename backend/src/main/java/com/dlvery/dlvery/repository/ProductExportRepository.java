@@ -0,0 +1,11 @@
+package com.dlvery.dlvery.repository;
+
+import com.dlvery.dlvery.entity.Product;
+
+import java.util.stream.Stream;
+
+public interface ProductExportRepository {
+
+    // Full export read with a per-statement fetch size; must be consumed inside a transaction and closed
+    Stream<Product> streamAllOrderById(int fetchSize);
+}
@@ -0,0 +1,21 @@
+package com.dlvery.dlvery.repository;
+
+import com.dlvery.dlvery.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.stream.Stream;
+
+class ProductExportRepositoryImpl implements ProductExportRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<Product> streamAllOrderById(int fetchSize) {
+        return entityManager.createQuery("SELECT p FROM Product p ORDER BY p.id", Product.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+}
@@ -2,18 +2,27 @@ package com.dlvery.dlvery.repository;
 
 import com.dlvery.dlvery.entity.Product;
 import com.dlvery.dlvery.entity.ProductCategory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductExportRepository {
     
     Optional<Product> findBySku(String sku);
+
+    List<Product> findAllBySkuIn(Collection<String> skus);
+
+    // Keyset pagination: seeks past the last seen id instead of using OFFSET
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
     
     List<Product> findByCategory(ProductCategory category);
     
@@ -42,6 +51,42 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Query("SELECT COUNT(p) FROM Product p WHERE p.isPerishable = true AND p.expiryDate <= :date")
     long countExpiringProducts(@Param("date") LocalDate date);
 
-    @Query("SELECT p FROM Product p WHERE p.sku LIKE :prefix% ORDER BY p.sku DESC")
-    List<Product> findBySkuStartingWithOrderBySkuDesc(@Param("prefix") String prefix);
-}
\ No newline at end of file
+    // Aggregates are projected straight from GROUP BY queries; no entities are hydrated
+    @Query("SELECT p.category AS category, COUNT(p) AS total FROM Product p GROUP BY p.category")
+    List<CategoryCount> countGroupedByCategory();
+
+    // Perishable products per expiry date, so "expiring within N days" can be derived for any day
+    @Query("SELECT p.expiryDate AS expiryDate, COUNT(p) AS total FROM Product p WHERE p.isPerishable = true AND p.expiryDate IS NOT NULL GROUP BY p.expiryDate")
+    List<ExpiryCount> countPerishablesByExpiryDate();
+
+    @Query("SELECT MAX(p.sku) FROM Product p WHERE p.sku LIKE CONCAT(:prefix, '-%')")
+    String findMaxSkuByPrefix(@Param("prefix") String prefix);
+
+    // Atomic stock adjustments; return the number of rows updated (0 = insufficient stock or unknown product)
+    @Modifying
+    @Query("UPDATE Product p SET p.quantity = p.quantity - :quantity, p.updatedAt = :now WHERE p.id = :id AND p.quantity >= :quantity")
+    int decrementQuantity(@Param("id") Long id, @Param("quantity") Integer quantity, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.quantity = p.quantity + :quantity, p.updatedAt = :now WHERE p.id = :id")
+    int incrementQuantity(@Param("id") Long id, @Param("quantity") Integer quantity, @Param("now") LocalDateTime now);
+
+    // Read back after an adjustment in the same transaction, which holds the rows' locks
+    @Query("SELECT p.id AS id, p.quantity AS quantity FROM Product p WHERE p.id IN :ids")
+    List<ProductQuantity> findQuantitiesByIdIn(@Param("ids") Collection<Long> ids);
+
+    interface ProductQuantity {
+        Long getId();
+        int getQuantity();
+    }
+
+    interface CategoryCount {
+        ProductCategory getCategory();
+        long getTotal();
+    }
+
+    interface ExpiryCount {
+        LocalDate getExpiryDate();
+        long getTotal();
+    }
+}
@@ -0,0 +1,24 @@
+package com.dlvery.dlvery.repository;
+
+import com.dlvery.dlvery.entity.SignatureBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SignatureBlobRepository extends JpaRepository<SignatureBlob, String> {
+
+    // Content-addressed insert: a concurrent upload of the same image waits on the key and then
+    // keeps the existing row instead of failing on the duplicate primary key
+    @Modifying
+    @Query(value = "INSERT INTO signature_blobs (hash, content_type, size_bytes, data, created_at) " +
+                   "VALUES (:hash, :contentType, :sizeBytes, :data, :createdAt) " +
+                   "ON DUPLICATE KEY UPDATE hash = hash", nativeQuery = true)
+    int insertIfAbsent(@Param("hash") String hash, @Param("contentType") String contentType,
+                       @Param("sizeBytes") int sizeBytes, @Param("data") byte[] data,
+                       @Param("createdAt") LocalDateTime createdAt);
+}
@@ -0,0 +1,27 @@
+package com.dlvery.dlvery.repository;
+
+import com.dlvery.dlvery.entity.SkuSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SkuSequenceRepository extends JpaRepository<SkuSequence, String> {
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM SkuSequence s WHERE s.prefix = :prefix")
+    Optional<SkuSequence> findByPrefixForUpdate(@Param("prefix") String prefix);
+
+    // Creates the row without a preceding locking read: FOR UPDATE on a missing row takes a gap
+    // lock on MySQL, and two nodes inserting into the same gap deadlock
+    @Modifying
+    @Query(value = "INSERT INTO sku_sequences (prefix, next_value) VALUES (:prefix, :nextValue) " +
+                   "ON DUPLICATE KEY UPDATE prefix = prefix", nativeQuery = true)
+    int insertIfAbsent(@Param("prefix") String prefix, @Param("nextValue") long nextValue);
+}
@@ -33,4 +33,21 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Find users by role and active status
     @Query("SELECT u FROM User u WHERE u.role = :role AND u.isActive = :isActive")
     java.util.List<User> findByRoleAndIsActive(@Param("role") UserRole role, @Param("isActive") Boolean isActive);
+    
+    // Agent identity and display name in one round trip (profile may not exist yet)
+    @Query("SELECT u.id AS userId, u.username AS username, u.fullName AS fullName, p.id AS profileId, p.displayName AS displayName " +
+           "FROM User u LEFT JOIN DeliveryAgentProfile p ON p.user = u WHERE u.username = :username AND u.role = :role")
+    Optional<AgentIdentity> findAgentIdentity(@Param("username") String username, @Param("role") UserRole role);
+    
+    @Query("SELECT u.id AS userId, u.username AS username, u.fullName AS fullName, p.id AS profileId, p.displayName AS displayName " +
+           "FROM User u LEFT JOIN DeliveryAgentProfile p ON p.user = u WHERE u.role = :role")
+    java.util.List<AgentIdentity> findAllAgentIdentities(@Param("role") UserRole role);
+    
+    interface AgentIdentity {
+        Long getUserId();
+        String getUsername();
+        String getFullName();
+        Long getProfileId();
+        String getDisplayName();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,179 @@
+package com.dlvery.dlvery.service;
+
+import com.dlvery.dlvery.entity.UserRole;
+import com.dlvery.dlvery.repository.DeliveryAgentProfileRepository;
+import com.dlvery.dlvery.repository.DeliveryAgentProfileRepository.AgentDisplayName;
+import com.dlvery.dlvery.repository.UserRepository;
+import com.dlvery.dlvery.repository.UserRepository.AgentIdentity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory directory of delivery agents.
+ * Keeps a bounded, access-ordered cache of agent identities keyed by username (one query per miss)
+ * and a username -> display name map for rendering stored agent names. Both are dropped after
+ * any profile change commits; cached identities and the agent list used for search also expire
+ * after app.agent-directory.ttl-seconds.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AgentDirectoryService {
+
+    private final DeliveryAgentProfileRepository profileRepository;
+    private final UserRepository userRepository;
+
+    @Value("${app.agent-directory.max-entries:1000}")
+    private int maxEntries;
+
+    @Value("${app.agent-directory.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<String, AgentEntry> agents = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, AgentEntry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+    private volatile Map<String, String> displayNames;
+    private volatile AgentListEntry allAgents;
+
+    /**
+     * Resolved identity of a delivery agent. userId is null when the username is not a delivery agent.
+     */
+    public record Agent(Long userId, String username, String displayName) {
+    }
+
+    private record AgentEntry(Agent agent, long loadedAtMillis) {
+    }
+
+    private record AgentListEntry(List<Agent> agents, long loadedAtMillis) {
+    }
+
+    /**
+     * Look up an agent by username, falling back to the username as display name if no agent exists
+     */
+    public Agent lookup(String username) {
+        long now = System.currentTimeMillis();
+        synchronized (agents) {
+            AgentEntry entry = agents.get(username);
+            if (entry != null && now - entry.loadedAtMillis() < ttlSeconds * 1000) {
+                return entry.agent();
+            }
+        }
+
+        long loadedGeneration = generation.get();
+        Agent agent = userRepository.findAgentIdentity(username, UserRole.DL_TEAM)
+                .map(this::toAgent)
+                .orElseGet(() -> new Agent(null, username, username));
+
+        synchronized (agents) {
+            // Do not cache an entry that was invalidated while it was loading
+            if (generation.get() == loadedGeneration) {
+                agents.put(username, new AgentEntry(agent, now));
+            }
+        }
+        return agent;
+    }
+
+    /**
+     * Load every delivery agent with one query, bypassing the cache; meant for batch jobs
+     */
+    public List<Agent> findAllAgents() {
+        return userRepository.findAllAgentIdentities(UserRole.DL_TEAM).stream()
+                .map(this::toAgent)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * User ids of agents whose username or display name contains the given text (case-insensitive)
+     */
+    public List<Long> searchAgentIds(String text) {
+        long now = System.currentTimeMillis();
+        AgentListEntry snapshot = allAgents;
+        if (snapshot == null || now - snapshot.loadedAtMillis() >= ttlSeconds * 1000) {
+            long loadedGeneration = generation.get();
+            snapshot = new AgentListEntry(findAllAgents(), now);
+            if (generation.get() == loadedGeneration) {
+                allAgents = snapshot;
+            }
+        }
+
+        String needle = text.toLowerCase(Locale.ROOT);
+        return snapshot.agents().stream()
+                .filter(agent -> agent.username().toLowerCase(Locale.ROOT).contains(needle)
+                        || agent.displayName().toLowerCase(Locale.ROOT).contains(needle))
+                .map(Agent::userId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Map an agent username to its display name; values that are not known usernames are returned unchanged
+     */
+    public String resolveDisplayName(String agent) {
+        if (agent == null) {
+            return null;
+        }
+        return getDisplayNames().getOrDefault(agent, agent);
+    }
+
+    public Map<String, String> getDisplayNames() {
+        Map<String, String> snapshot = displayNames;
+        if (snapshot == null) {
+            long loadedGeneration = generation.get();
+            snapshot = profileRepository.findAllDisplayNames().stream()
+                    .collect(Collectors.toMap(AgentDisplayName::getUsername, AgentDisplayName::getDisplayName,
+                            (first, second) -> first));
+            // Do not publish a snapshot that was invalidated while it was loading
+            if (generation.get() == loadedGeneration) {
+                displayNames = snapshot;
+            }
+            log.debug("Loaded {} agent display names", snapshot.size());
+        }
+        return snapshot;
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        displayNames = null;
+        allAgents = null;
+        synchronized (agents) {
+            agents.clear();
+        }
+    }
+
+    /**
+     * Invalidate once the surrounding transaction commits, so readers never reload uncommitted state
+     */
+    public void invalidateAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate();
+            }
+        });
+    }
+
+    private Agent toAgent(AgentIdentity identity) {
+        // Same precedence as the profile API: profile display name, else the account's full name for new agents
+        String displayName = identity.getProfileId() != null ? identity.getDisplayName() : identity.getFullName();
+        return new Agent(identity.getUserId(), identity.getUsername(),
+                displayName != null ? displayName : identity.getUsername());
+    }
+}
@@ -0,0 +1,222 @@
+package com.dlvery.dlvery.service;
+
+import com.dlvery.dlvery.dto.DashboardStatsDto;
+import com.dlvery.dlvery.entity.DeliveryStatus;
+import com.dlvery.dlvery.entity.ProductCategory;
+import com.dlvery.dlvery.event.DeliveryStatusChangedEvent;
+import com.dlvery.dlvery.event.ProductChangedEvent;
+import com.dlvery.dlvery.event.ProductChangedEvent.ProductState;
+import com.dlvery.dlvery.event.StockChangedEvent;
+import com.dlvery.dlvery.repository.DeliveryRepository;
+import com.dlvery.dlvery.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Dashboard counters kept current from committed product, stock and delivery events.
+ * Serving the dashboard reads the counters only; stock movements carry the number of products
+ * they moved in or out of stock. A scheduled reconciliation reloads every counter
+ * from the database to correct any drift, replaying the deltas committed while it loads.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardStatsAggregator {
+
+    private static final int EXPIRING_WITHIN_DAYS = 7;
+
+    private final ProductRepository productRepository;
+    private final DeliveryRepository deliveryRepository;
+
+    private final Object deltaLock = new Object();
+
+    private volatile Counters counters;
+    // Deltas applied while a rebuild loads; guarded by deltaLock, null when no rebuild runs
+    private List<Consumer<Counters>> pendingDeltas;
+
+    public DashboardStatsDto getStats() {
+        Counters current = counters();
+
+        DashboardStatsDto stats = new DashboardStatsDto();
+        stats.setTotalProducts(current.total.sum());
+        stats.setAvailableProducts(current.available.sum());
+        stats.setDamagedProducts(current.damaged.sum());
+        stats.setExpiringProducts(current.expiringBy(LocalDate.now().plusDays(EXPIRING_WITHIN_DAYS)));
+        stats.setPendingDeliveries(current.byStatus.get(DeliveryStatus.PENDING).sum());
+        stats.setCompletedDeliveries(current.byStatus.get(DeliveryStatus.DELIVERED).sum());
+
+        Map<String, Long> byCategory = new LinkedHashMap<>();
+        current.byCategory.forEach((category, count) -> {
+            long value = count.sum();
+            if (value > 0) {
+                byCategory.put(category.name(), value);
+            }
+        });
+        stats.setProductsByCategory(byCategory);
+        return stats;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        applyDelta(current -> {
+            current.apply(event.before(), -1);
+            current.apply(event.after(), 1);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        if (event.availableDelta() != 0) {
+            applyDelta(current -> current.available.add(event.availableDelta()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeliveryStatusChanged(DeliveryStatusChangedEvent event) {
+        if (event.from() == event.to()) {
+            return;
+        }
+        applyDelta(current -> {
+            if (event.from() != null) {
+                current.byStatus.get(event.from()).decrement();
+            }
+            current.byStatus.get(event.to()).increment();
+        });
+    }
+
+    /**
+     * Rebuild all counters from the database and swap them in
+     */
+    @Scheduled(initialDelayString = "${app.dashboard.reconcile-interval-ms:300000}",
+               fixedDelayString = "${app.dashboard.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        try {
+            rebuild();
+            log.debug("Dashboard counters reconciled");
+        } catch (Exception e) {
+            log.error("Dashboard counter reconciliation failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private Counters counters() {
+        Counters current = counters;
+        if (current == null) {
+            synchronized (this) {
+                current = counters;
+                if (current == null) {
+                    current = rebuild();
+                }
+            }
+        }
+        return current;
+    }
+
+    private void applyDelta(Consumer<Counters> delta) {
+        synchronized (deltaLock) {
+            if (counters != null) {
+                delta.accept(counters);
+            }
+            if (pendingDeltas != null) {
+                pendingDeltas.add(delta);
+            }
+        }
+    }
+
+    /**
+     * Load fresh counters while recording the deltas committed meanwhile, then replay them onto
+     * the loaded counters and swap under the lock the event handlers take, so none is lost.
+     */
+    private synchronized Counters rebuild() {
+        synchronized (deltaLock) {
+            pendingDeltas = new ArrayList<>();
+        }
+        try {
+            Counters loaded = load();
+            synchronized (deltaLock) {
+                pendingDeltas.forEach(delta -> delta.accept(loaded));
+                counters = loaded;
+            }
+            return loaded;
+        } finally {
+            synchronized (deltaLock) {
+                pendingDeltas = null;
+            }
+        }
+    }
+
+    private Counters load() {
+        Counters loaded = new Counters();
+        loaded.total.add(productRepository.count());
+        loaded.available.add(productRepository.countAvailableProducts());
+        loaded.damaged.add(productRepository.countDamagedProducts());
+        for (ProductRepository.CategoryCount category : productRepository.countGroupedByCategory()) {
+            loaded.byCategory.get(category.getCategory()).add(category.getTotal());
+        }
+        for (ProductRepository.ExpiryCount expiry : productRepository.countPerishablesByExpiryDate()) {
+            loaded.expiries.computeIfAbsent(expiry.getExpiryDate(), key -> new LongAdder()).add(expiry.getTotal());
+        }
+        for (DeliveryRepository.StatusCount status : deliveryRepository.countGroupedByStatus()) {
+            loaded.byStatus.get(status.getStatus()).add(status.getTotal());
+        }
+        return loaded;
+    }
+
+    private static final class Counters {
+        private final LongAdder total = new LongAdder();
+        private final LongAdder available = new LongAdder();
+        private final LongAdder damaged = new LongAdder();
+        private final Map<ProductCategory, LongAdder> byCategory = new EnumMap<>(ProductCategory.class);
+        private final Map<DeliveryStatus, LongAdder> byStatus = new EnumMap<>(DeliveryStatus.class);
+        private final ConcurrentSkipListMap<LocalDate, LongAdder> expiries = new ConcurrentSkipListMap<>();
+
+        private Counters() {
+            // Pre-populated so the enum maps are only read concurrently, never structurally modified
+            for (ProductCategory category : ProductCategory.values()) {
+                byCategory.put(category, new LongAdder());
+            }
+            for (DeliveryStatus status : DeliveryStatus.values()) {
+                byStatus.put(status, new LongAdder());
+            }
+        }
+
+        private void apply(ProductState state, int delta) {
+            if (state == null) {
+                return;
+            }
+            total.add(delta);
+            if (state.available()) {
+                available.add(delta);
+            }
+            if (state.damaged()) {
+                damaged.add(delta);
+            }
+            if (state.category() != null) {
+                byCategory.get(state.category()).add(delta);
+            }
+            if (state.perishableExpiry() != null) {
+                expiries.computeIfAbsent(state.perishableExpiry(), key -> new LongAdder()).add(delta);
+            }
+        }
+
+        private long expiringBy(LocalDate date) {
+            long count = 0;
+            for (LongAdder adder : expiries.headMap(date, true).values()) {
+                count += adder.sum();
+            }
+            return count;
+        }
+    }
+}
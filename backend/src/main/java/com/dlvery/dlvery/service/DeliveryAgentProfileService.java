@@ -21,6 +21,7 @@ public class DeliveryAgentProfileService {
 
     private final DeliveryAgentProfileRepository profileRepository;
     private final UserRepository userRepository;
+    private final AgentDirectoryService agentDirectoryService;
 
     @Transactional(readOnly = true)
     public DeliveryAgentProfileDto getProfileByUsername(String username) {
@@ -89,6 +90,7 @@ public class DeliveryAgentProfileService {
         profile.setIsProfileComplete(isProfileComplete(profile));
         
         profile = profileRepository.save(profile);
+        agentDirectoryService.invalidateAfterCommit();
         
         log.info("Profile saved for delivery agent: {} (Complete: {})", username, profile.getIsProfileComplete());
         
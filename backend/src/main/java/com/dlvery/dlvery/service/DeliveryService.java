@@ -2,20 +2,37 @@ package com.dlvery.dlvery.service;
 
 import com.dlvery.dlvery.dto.*;
 import com.dlvery.dlvery.entity.*;
+import com.dlvery.dlvery.event.DeliveryStatusChangedEvent;
 import com.dlvery.dlvery.exception.CustomExceptions.*;
 import com.dlvery.dlvery.repository.*;
+import com.dlvery.dlvery.service.AgentDirectoryService.Agent;
+import com.dlvery.dlvery.util.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,22 +42,132 @@ public class DeliveryService {
 
     private static final Logger logger = LoggerFactory.getLogger(DeliveryService.class);
 
+    private static final int DEFAULT_TRACK_LIMIT = 100;
+    private static final int MAX_TRACK_LIMIT = 500;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final DeliveryRepository deliveryRepository;
     private final ProductRepository productRepository;
     private final InventoryService inventoryService;
-    private final DeliveryAgentProfileService deliveryAgentProfileService;
+    private final UserRepository userRepository;
+    private final AgentDirectoryService agentDirectoryService;
+    private final DeliverySignatureService signatureService;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.delivery.bulk.batch-size:100}")
+    private int bulkBatchSize;
     
     @Transactional
     public DeliveryDto createDelivery(DeliveryDto deliveryDto) {
         logger.info("Creating delivery for agent: {} with {} items",
                 deliveryDto.getDeliveryAgent(), deliveryDto.getItems().size());
 
-        // Get display name for the delivery agent
-        String displayName = getAgentDisplayName(deliveryDto.getDeliveryAgent());
+        // Resolve the delivery agent account and display name
+        Map<String, Agent> agents = resolveAgents(List.of(deliveryDto));
+
+        // Resolve every SKU once; shared by priority computation, stock checks and movements
+        Map<String, Product> productsBySku = resolveProducts(List.of(deliveryDto));
+
+        try {
+            Delivery delivery = persistDeliveries(List.of(deliveryDto), agents, productsBySku).get(0);
+
+            DeliveryDto result = convertToDto(delivery);
+            logger.info("Delivery {} created successfully with {} items", delivery.getDeliveryId(), delivery.getItems().size());
+            return result;
+
+        } catch (Exception e) {
+            logger.error("Failed to create delivery for agent {}: {}", deliveryDto.getDeliveryAgent(), e.getMessage(), e);
+            throw new DeliveryProcessingException("Failed to create delivery: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Create many deliveries, committing them in batches of app.delivery.bulk.batch-size.
+     * Products and agent display names are resolved once per batch. If a batch fails, its deliveries
+     * are retried one by one in their own transactions so a single bad delivery cannot sink the others.
+     */
+    public BulkDeliveryResponse createDeliveries(List<DeliveryDto> deliveryDtos) {
+        logger.info("Creating {} deliveries in batches of {}", deliveryDtos.size(), bulkBatchSize);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<BulkDeliveryResultDto> results = new ArrayList<>(deliveryDtos.size());
+
+        for (int offset = 0; offset < deliveryDtos.size(); offset += bulkBatchSize) {
+            List<DeliveryDto> batch = deliveryDtos.subList(offset, Math.min(offset + bulkBatchSize, deliveryDtos.size()));
+            Map<String, Agent> agents = resolveAgents(batch);
+
+            try {
+                List<Delivery> created = transactionTemplate.execute(status ->
+                        persistDeliveries(batch, agents, resolveProducts(batch)));
+                for (int i = 0; i < created.size(); i++) {
+                    Delivery delivery = created.get(i);
+                    results.add(new BulkDeliveryResultDto(offset + i, true, delivery.getId(), delivery.getDeliveryId(), null));
+                }
+            } catch (Exception e) {
+                logger.warn("Delivery batch starting at index {} failed ({}), retrying deliveries individually",
+                        offset, e.getMessage());
+                for (int i = 0; i < batch.size(); i++) {
+                    results.add(createSingleInBatch(transactionTemplate, batch.get(i), offset + i, agents));
+                }
+            }
+        }
+
+        long succeeded = results.stream().filter(BulkDeliveryResultDto::isSuccess).count();
+        logger.info("Bulk delivery creation finished: {} succeeded, {} failed", succeeded, results.size() - succeeded);
+        return new BulkDeliveryResponse(results.size(), (int) succeeded, results.size() - (int) succeeded, results);
+    }
+
+    private BulkDeliveryResultDto createSingleInBatch(TransactionTemplate transactionTemplate, DeliveryDto deliveryDto,
+                                                      int index, Map<String, Agent> agents) {
+        try {
+            Delivery delivery = transactionTemplate.execute(status ->
+                    persistDeliveries(List.of(deliveryDto), agents, resolveProducts(List.of(deliveryDto))).get(0));
+            return new BulkDeliveryResultDto(index, true, delivery.getId(), delivery.getDeliveryId(), null);
+        } catch (Exception e) {
+            logger.warn("Failed to create delivery at index {}: {}", index, e.getMessage());
+            return new BulkDeliveryResultDto(index, false, null, null, e.getMessage());
+        }
+    }
+
+    /**
+     * Build, reserve stock for and save the given deliveries together with their movement history.
+     * Must run inside a transaction.
+     */
+    private List<Delivery> persistDeliveries(List<DeliveryDto> deliveryDtos, Map<String, Agent> agents,
+                                             Map<String, Product> productsBySku) {
+        List<Delivery> deliveries = new ArrayList<>(deliveryDtos.size());
+        List<InventoryMovement> movements = new ArrayList<>();
+
+        for (DeliveryDto deliveryDto : deliveryDtos) {
+            Agent agent = agents.get(deliveryDto.getDeliveryAgent());
+            deliveries.add(buildDelivery(deliveryDto, agent, productsBySku, movements));
+        }
+
+        Map<Long, Integer> stockChanges = reserveStock(deliveries);
+        deliveryRepository.saveAll(deliveries);
+        inventoryService.recordMovementEntries(movements);
+
+        inventoryService.publishStockChanged(stockChanges);
+        for (Delivery delivery : deliveries) {
+            eventPublisher.publishEvent(new DeliveryStatusChangedEvent(null, delivery.getStatus()));
+        }
+        return deliveries;
+    }
+
+    private Delivery buildDelivery(DeliveryDto deliveryDto, Agent agent, Map<String, Product> productsBySku,
+                                   List<InventoryMovement> movements) {
+        if (deliveryDto.getItems() == null || deliveryDto.getItems().isEmpty()) {
+            throw new DeliveryProcessingException("Delivery must contain at least one item");
+        }
 
         Delivery delivery = new Delivery();
         delivery.setDeliveryId(generateDeliveryId());
-        delivery.setDeliveryAgent(displayName);
+        delivery.setDeliveryAgent(agent.displayName());
+        if (agent.userId() != null) {
+            delivery.setAgentUser(userRepository.getReferenceById(agent.userId()));
+        }
         delivery.setCustomerName(deliveryDto.getCustomerName());
         delivery.setCustomerAddress(deliveryDto.getCustomerAddress());
         delivery.setCustomerPhone(deliveryDto.getCustomerPhone());
@@ -50,7 +177,7 @@ public class DeliveryService {
         if (deliveryDto.getPriority() != null) {
             delivery.setPriority(deliveryDto.getPriority());
         } else {
-            delivery.setPriority(determineDeliveryPriority(deliveryDto.getItems()));
+            delivery.setPriority(determineDeliveryPriority(deliveryDto.getItems(), productsBySku));
         }
         
         // Set scheduled date
@@ -58,21 +185,17 @@ public class DeliveryService {
             delivery.setScheduledDate(deliveryDto.getScheduledDate());
         }
 
-        try {
-            delivery = deliveryRepository.save(delivery);
-            String deliveryId = delivery.getDeliveryId();
-
-            List<DeliveryItem> items = processDeliveryItems(deliveryDto, delivery, deliveryId, displayName);
-            delivery.setItems(items);
-
-            DeliveryDto result = convertToDto(delivery);
-            logger.info("Delivery {} created successfully with {} items", deliveryId, items.size());
-            return result;
+        List<DeliveryItem> items = new ArrayList<>();
+        for (DeliveryItemDto itemDto : deliveryDto.getItems()) {
+            DeliveryItem item = createDeliveryItem(itemDto, delivery, productsBySku);
+            items.add(item);
 
-        } catch (Exception e) {
-            logger.error("Failed to create delivery for agent {}: {}", deliveryDto.getDeliveryAgent(), e.getMessage(), e);
-            throw new DeliveryProcessingException("Failed to create delivery: " + e.getMessage(), e);
+            movements.add(inventoryService.newMovement(item.getProduct(), MovementType.DELIVERY,
+                    itemDto.getQuantity(), "Delivery assignment",
+                    delivery.getDeliveryId(), agent.displayName()));
         }
+        delivery.setItems(items);
+        return delivery;
     }
     
     private List<DeliveryDto> convertDeliveriesToDto(List<Delivery> deliveries) {
@@ -86,9 +209,6 @@ public class DeliveryService {
         logger.debug("Fetching all deliveries");
         List<Delivery> deliveries = deliveryRepository.findAll();
 
-        // Update delivery agent names to use display names instead of usernames
-        updateDeliveryAgentNames(deliveries);
-
         List<DeliveryDto> result = convertDeliveriesToDto(deliveries);
         logger.info("Retrieved {} deliveries", result.size());
         return result;
@@ -128,49 +248,122 @@ public class DeliveryService {
          return convertDeliveriesToDto(deliveryRepository.findByStatusAndDateRange(DeliveryStatus.DELIVERED, startDate, endDate));
      }
 
+     /**
+      * Search deliveries by any combination of SKU, agent, customer name, delivery ID prefix and status,
+      * newest first. Filtering and limiting run in the database; the cursor continues from the last page.
+      */
      @Transactional(readOnly = true)
-     public List<DeliveryDto> trackDeliveries(String sku, String agent) {
-         logger.debug("Tracking deliveries with sku: {} and agent: {}", sku, agent);
-
-         String trimmedSku = sku != null ? sku.trim() : null;
-         String trimmedAgent = agent != null ? agent.trim().toLowerCase() : null;
-
-         boolean hasSku = trimmedSku != null && !trimmedSku.isEmpty();
-         boolean hasAgent = trimmedAgent != null && !trimmedAgent.isEmpty();
-
-         List<Delivery> deliveries;
-
-         if (hasSku && hasAgent) {
-             // Both criteria provided - find intersection
-             deliveries = findDeliveriesBySkuAndAgent(trimmedSku, trimmedAgent);
-         } else if (hasSku) {
-             deliveries = deliveryRepository.findByProductSku(trimmedSku);
-         } else if (hasAgent) {
-             deliveries = findDeliveriesByAgent(trimmedAgent);
-         } else {
-             deliveries = deliveryRepository.findAll();
+     public CursorPageDto<DeliveryDto> trackDeliveries(String sku, String agent, String customer, String deliveryId,
+                                                       DeliveryStatus status, String cursor, Integer limit) {
+         logger.debug("Tracking deliveries with sku: {}, agent: {}, customer: {}, deliveryId: {}, status: {}",
+                 sku, agent, customer, deliveryId, status);
+
+         int pageSize = limit == null || limit <= 0 ? DEFAULT_TRACK_LIMIT : Math.min(limit, MAX_TRACK_LIMIT);
+
+         List<Specification<Delivery>> filters = new ArrayList<>();
+         if (hasText(sku)) {
+             filters.add(DeliverySpecifications.hasSku(sku.trim()));
+         }
+         if (hasText(agent)) {
+             String trimmedAgent = agent.trim();
+             filters.add(DeliverySpecifications.agentMatches(agentDirectoryService.searchAgentIds(trimmedAgent), trimmedAgent));
+         }
+         if (hasText(customer)) {
+             filters.add(DeliverySpecifications.customerNameStartsWith(customer.trim()));
+         }
+         if (hasText(deliveryId)) {
+             filters.add(DeliverySpecifications.deliveryIdStartsWith(deliveryId.trim()));
+         }
+         if (status != null) {
+             filters.add(DeliverySpecifications.hasStatus(status));
+         }
+         if (hasText(cursor)) {
+             filters.add(DeliverySpecifications.idLessThan(PageCursor.decodeLong(cursor)));
          }
 
-         return convertDeliveriesToDto(deliveries);
+         List<Delivery> deliveries = deliveryRepository.findBy(Specification.allOf(filters), query -> query
+                 .sortBy(Sort.by(Sort.Direction.DESC, "id"))
+                 .limit(pageSize + 1)
+                 .all());
+
+         boolean hasMore = deliveries.size() > pageSize;
+         if (hasMore) {
+             deliveries = deliveries.subList(0, pageSize);
+         }
+         String nextCursor = hasMore ? PageCursor.encode(deliveries.get(deliveries.size() - 1).getId()) : null;
+         fetchItems(deliveries);
+
+         return new CursorPageDto<>(convertDeliveriesToDto(deliveries), nextCursor, hasMore);
      }
 
-     private List<Delivery> findDeliveriesBySkuAndAgent(String sku, String agent) {
-         List<Delivery> skuDeliveries = deliveryRepository.findByProductSku(sku);
-         return skuDeliveries.stream()
-                 .filter(d -> matchesAgent(d.getDeliveryAgent(), agent))
-                 .collect(Collectors.toList());
+     /**
+      * One page of deliveries, newest first, filtered by any combination of status, priority, agent,
+      * creation date range [from, to) and SKU. Pages are keyed on (createdAt, id) so deep pages cost
+      * the same as the first, and the page size is capped at {@value #MAX_PAGE_SIZE}.
+      */
+     @Transactional(readOnly = true)
+     public CursorPageDto<DeliveryDto> getDeliveriesPage(DeliveryStatus status, DeliveryPriority priority, String agent,
+                                                         LocalDateTime from, LocalDateTime to, String sku,
+                                                         String cursor, Integer limit) {
+         int pageSize = limit == null || limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+
+         List<Specification<Delivery>> filters = new ArrayList<>();
+         if (status != null) {
+             filters.add(DeliverySpecifications.hasStatus(status));
+         }
+         if (priority != null) {
+             filters.add(DeliverySpecifications.hasPriority(priority));
+         }
+         if (hasText(agent)) {
+             String trimmedAgent = agent.trim();
+             filters.add(DeliverySpecifications.agentMatches(agentDirectoryService.searchAgentIds(trimmedAgent), trimmedAgent));
+         }
+         if (from != null) {
+             filters.add(DeliverySpecifications.createdOnOrAfter(from));
+         }
+         if (to != null) {
+             filters.add(DeliverySpecifications.createdBefore(to));
+         }
+         if (hasText(sku)) {
+             filters.add(DeliverySpecifications.hasSku(sku.trim()));
+         }
+         if (hasText(cursor)) {
+             String[] keys = PageCursor.decode(cursor, 2);
+             try {
+                 filters.add(DeliverySpecifications.afterKeyset(LocalDateTime.parse(keys[0]), Long.parseLong(keys[1])));
+             } catch (DateTimeParseException | NumberFormatException e) {
+                 throw new IllegalArgumentException("Invalid pagination cursor");
+             }
+         }
+
+         List<Delivery> deliveries = deliveryRepository.findBy(Specification.allOf(filters), query -> query
+                 .sortBy(Sort.by(Sort.Direction.DESC, "createdAt", "id"))
+                 .limit(pageSize + 1)
+                 .all());
+
+         boolean hasMore = deliveries.size() > pageSize;
+         if (hasMore) {
+             deliveries = deliveries.subList(0, pageSize);
+         }
+         Delivery last = deliveries.isEmpty() ? null : deliveries.get(deliveries.size() - 1);
+         String nextCursor = hasMore ? PageCursor.encode(last.getCreatedAt(), last.getId()) : null;
+         fetchItems(deliveries);
+
+         return new CursorPageDto<>(convertDeliveriesToDto(deliveries), nextCursor, hasMore);
      }
 
-     private List<Delivery> findDeliveriesByAgent(String agent) {
-         return deliveryRepository.findAll().stream()
-                 .filter(d -> matchesAgent(d.getDeliveryAgent(), agent))
-                 .collect(Collectors.toList());
+     /**
+      * A collection fetch cannot be combined with a row limit, so the items and products of a
+      * limited page are loaded in one follow-up query into the same persistence context
+      */
+     private void fetchItems(List<Delivery> deliveries) {
+         if (!deliveries.isEmpty()) {
+             deliveryRepository.findByIdIn(deliveries.stream().map(Delivery::getId).toList());
+         }
      }
 
-     private boolean matchesAgent(String deliveryAgent, String searchAgent) {
-         return deliveryAgent != null &&
-                (deliveryAgent.toLowerCase().contains(searchAgent) ||
-                 deliveryAgent.toLowerCase().equals(searchAgent));
+     private boolean hasText(String value) {
+         return value != null && !value.trim().isEmpty();
      }
     
     @Transactional
@@ -186,6 +379,7 @@ public class DeliveryService {
 
         validateStatusTransition(delivery.getStatus(), status, deliveryId);
 
+        DeliveryStatus previousStatus = delivery.getStatus();
         try {
             delivery.setStatus(status);
 
@@ -199,15 +393,14 @@ public class DeliveryService {
                 delivery.setNotes(notes.trim());
             }
 
-            // Handle signature for delivered status
+            // Handle signature for delivered status. The inventory dialog may send a typed name
+            // rather than an image, so an unusable signature is skipped, not rejected
             if (status == DeliveryStatus.DELIVERED && signature != null && !signature.trim().isEmpty()) {
                 try {
-                    // Decode base64 signature and store as bytes
-                    byte[] signatureBytes = java.util.Base64.getDecoder().decode(signature.trim());
-                    delivery.setCustomerSignature(signatureBytes);
-                    logger.info("Customer signature stored for delivery {}", deliveryId);
-                } catch (Exception e) {
-                    logger.warn("Failed to decode signature for delivery {}: {}", deliveryId, e.getMessage());
+                    signatureService.storeSignature(deliveryId, signature);
+                    delivery.setHasSignature(true);
+                } catch (InvalidSignatureException e) {
+                    logger.warn("Signature for delivery {} not stored: {}", deliveryId, e.getMessage());
                 }
             }
 
@@ -216,6 +409,7 @@ public class DeliveryService {
             }
 
             delivery = deliveryRepository.save(delivery);
+            eventPublisher.publishEvent(new DeliveryStatusChangedEvent(previousStatus, status));
             logger.info("Delivery {} status updated to {}", deliveryId, status);
             return convertToDto(delivery);
         } catch (Exception e) {
@@ -237,89 +431,14 @@ public class DeliveryService {
         return "DLV-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
     }
     
-    /**
-     * Get the display name for a delivery agent, falling back to username if profile not found
-     */
-    private String getAgentDisplayName(String agentUsername) {
-        try {
-            DeliveryAgentProfileDto profile = deliveryAgentProfileService.getProfileByUsername(agentUsername);
-            return profile.getDisplayName() != null ? profile.getDisplayName() : agentUsername;
-        } catch (Exception e) {
-            logger.warn("Could not fetch profile for agent {}, using username: {}", agentUsername, e.getMessage());
-            return agentUsername;
-        }
-    }
-
-    /**
-     * Get agent search names (both username and display name) for comprehensive search
-     */
-    private String[] getAgentSearchNames(String agentUsername) {
-        String displayName = agentUsername;
-        try {
-            DeliveryAgentProfileDto profile = deliveryAgentProfileService.getProfileByUsername(agentUsername);
-            if (profile.getDisplayName() != null) {
-                displayName = profile.getDisplayName();
-            }
-        } catch (Exception e) {
-            logger.debug("Could not fetch profile for agent: {}", agentUsername);
-        }
-        return new String[]{agentUsername, displayName};
-    }
-
-    /**
-     * Find deliveries by searching multiple agent names using a repository function
-     */
-    private List<Delivery> findDeliveriesByAgentNames(String[] agentNames, java.util.function.Function<String, List<Delivery>> repoFunction) {
-        List<Delivery> allDeliveries = new ArrayList<>();
-        for (String name : agentNames) {
-            allDeliveries.addAll(repoFunction.apply(name));
-        }
-        return allDeliveries;
-    }
-
-    /**
-     * Update delivery agent names from usernames to display names for existing deliveries
-     */
-    private void updateDeliveryAgentNames(List<Delivery> deliveries) {
-        boolean hasUpdates = false;
-
-        for (Delivery delivery : deliveries) {
-            String currentAgent = delivery.getDeliveryAgent();
-            if (currentAgent != null && !currentAgent.contains(" ")) {
-                // If the agent name doesn't contain spaces, it's likely a username
-                // Try to get the display name from the profile
-                try {
-                    String displayName = getAgentDisplayName(currentAgent);
-                    if (!currentAgent.equals(displayName)) {
-                        delivery.setDeliveryAgent(displayName);
-                        hasUpdates = true;
-                        logger.debug("Updated delivery {} agent from '{}' to '{}'",
-                                delivery.getDeliveryId(), currentAgent, displayName);
-                    }
-                } catch (Exception e) {
-                    logger.warn("Could not update agent name for delivery {}: {}",
-                            delivery.getDeliveryId(), e.getMessage());
-                }
-            }
-        }
-
-        if (hasUpdates) {
-            try {
-                deliveryRepository.saveAll(deliveries);
-                logger.info("Updated delivery agent names for {} deliveries", deliveries.size());
-            } catch (Exception e) {
-                logger.error("Failed to save updated delivery agent names: {}", e.getMessage());
-            }
-        }
-    }
-    
     private DeliveryDto convertToDto(Delivery delivery) {
         logger.debug("Converting delivery to DTO - ID: {}", delivery.getDeliveryId());
 
         DeliveryDto dto = new DeliveryDto();
         dto.setId(delivery.getId());
         dto.setDeliveryId(delivery.getDeliveryId());
-        dto.setDeliveryAgent(delivery.getDeliveryAgent());
+        // Rows not yet backfilled may still hold a username; show the display name instead
+        dto.setDeliveryAgent(agentDirectoryService.resolveDisplayName(delivery.getDeliveryAgent()));
         dto.setStatus(delivery.getStatus());
         dto.setPriority(delivery.getPriority());
         dto.setCreatedAt(delivery.getCreatedAt());
@@ -332,17 +451,7 @@ public class DeliveryService {
         dto.setNotes(delivery.getNotes());
         dto.setStatusReason(delivery.getStatusReason());
 
-        // Convert signature from bytes to base64 string for frontend display
-        if (delivery.getCustomerSignature() != null) {
-            try {
-                String base64Signature = java.util.Base64.getEncoder().encodeToString(delivery.getCustomerSignature());
-                dto.setCustomerSignature(base64Signature);
-                logger.debug("Converted signature to base64 for delivery {}", delivery.getDeliveryId());
-            } catch (Exception e) {
-                logger.warn("Failed to convert signature for delivery {}: {}", delivery.getDeliveryId(), e.getMessage());
-                dto.setCustomerSignature(null);
-            }
-        }
+        dto.setHasSignature(delivery.getHasSignature());
 
         // Safely convert items with null check
         List<DeliveryItemDto> items = Optional.ofNullable(delivery.getItems())
@@ -367,34 +476,67 @@ public class DeliveryService {
         return dto;
     }
 
-    private List<DeliveryItem> processDeliveryItems(DeliveryDto deliveryDto, Delivery delivery, String deliveryId, String displayName) {
-        List<DeliveryItem> items = new ArrayList<>();
-        for (DeliveryItemDto itemDto : deliveryDto.getItems()) {
-            DeliveryItem item = createDeliveryItem(itemDto, delivery, deliveryId, displayName);
-            items.add(item);
-
-            // Record inventory movement
-            inventoryService.recordMovement(item.getProduct(), MovementType.DELIVERY,
-                    itemDto.getQuantity(), "Delivery assignment",
-                    delivery.getDeliveryId(), displayName);
+    /**
+     * Resolve each distinct agent username to its account and display name once
+     */
+    private Map<String, Agent> resolveAgents(List<DeliveryDto> deliveryDtos) {
+        Map<String, Agent> agents = new HashMap<>();
+        for (DeliveryDto deliveryDto : deliveryDtos) {
+            agents.computeIfAbsent(deliveryDto.getDeliveryAgent(), agentDirectoryService::lookup);
         }
-        return items;
+        return agents;
     }
 
-    private DeliveryItem createDeliveryItem(DeliveryItemDto itemDto, Delivery delivery, String deliveryId, String displayName) {
-        Product product = productRepository.findBySku(itemDto.getProductSku())
-                .orElseThrow(() -> {
-                    logger.error("Product not found during delivery creation - SKU: {}, Delivery ID: {}",
-                            itemDto.getProductSku(), deliveryId);
-                    return new ProductNotFoundException("Product not found: " + itemDto.getProductSku());
-                });
+    /**
+     * Load all products referenced by the given deliveries with a single query, keyed by SKU
+     */
+    private Map<String, Product> resolveProducts(List<DeliveryDto> deliveryDtos) {
+        Set<String> skus = deliveryDtos.stream()
+                .filter(deliveryDto -> deliveryDto.getItems() != null)
+                .flatMap(deliveryDto -> deliveryDto.getItems().stream())
+                .map(DeliveryItemDto::getProductSku)
+                .collect(Collectors.toSet());
+
+        return productRepository.findAllBySkuIn(skus).stream()
+                .collect(Collectors.toMap(Product::getSku, Function.identity()));
+    }
 
-        if (product.getQuantity() < itemDto.getQuantity()) {
-            logger.error("Insufficient stock for product during delivery creation - Product: {}, SKU: {}, " +
-                    "Available: {}, Requested: {}, Delivery ID: {}",
-                    product.getName(), product.getSku(), product.getQuantity(),
-                    itemDto.getQuantity(), deliveryId);
-            throw new InsufficientStockException("Insufficient stock for product: " + product.getName());
+    /**
+     * Reserve stock for all items with one conditional UPDATE per distinct product.
+     * Products are updated in id order so concurrent batches lock rows in the same order.
+     * Returns the stock change applied to each product.
+     */
+    private Map<Long, Integer> reserveStock(List<Delivery> deliveries) {
+        Map<Long, Integer> requestedByProduct = new TreeMap<>();
+        Map<Long, Product> productsById = new HashMap<>();
+        for (Delivery delivery : deliveries) {
+            for (DeliveryItem item : delivery.getItems()) {
+                requestedByProduct.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+                productsById.putIfAbsent(item.getProduct().getId(), item.getProduct());
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<Long, Integer> entry : requestedByProduct.entrySet()) {
+            // The UPDATE only applies when enough stock remains
+            if (productRepository.decrementQuantity(entry.getKey(), entry.getValue(), now) == 0) {
+                Product product = productsById.get(entry.getKey());
+                logger.error("Insufficient stock for product during delivery creation - Product: {}, SKU: {}, Requested: {}",
+                        product.getName(), product.getSku(), entry.getValue());
+                throw new InsufficientStockException("Insufficient stock for product: " + product.getName());
+            }
+        }
+        Map<Long, Integer> stockChanges = new HashMap<>();
+        requestedByProduct.forEach((productId, requested) -> stockChanges.put(productId, -requested));
+        return stockChanges;
+    }
+
+    private DeliveryItem createDeliveryItem(DeliveryItemDto itemDto, Delivery delivery, Map<String, Product> productsBySku) {
+        Product product = productsBySku.get(itemDto.getProductSku());
+        if (product == null) {
+            logger.error("Product not found during delivery creation - SKU: {}, Delivery ID: {}",
+                    itemDto.getProductSku(), delivery.getDeliveryId());
+            throw new ProductNotFoundException("Product not found: " + itemDto.getProductSku());
         }
 
         DeliveryItem item = new DeliveryItem();
@@ -407,11 +549,11 @@ public class DeliveryService {
     /**
      * Determine delivery priority based on product characteristics
      */
-    private DeliveryPriority determineDeliveryPriority(List<DeliveryItemDto> items) {
+    private DeliveryPriority determineDeliveryPriority(List<DeliveryItemDto> items, Map<String, Product> productsBySku) {
         DeliveryPriority highestPriority = DeliveryPriority.STANDARD;
         
         for (DeliveryItemDto itemDto : items) {
-            Product product = productRepository.findBySku(itemDto.getProductSku()).orElse(null);
+            Product product = productsBySku.get(itemDto.getProductSku());
             if (product != null) {
                 DeliveryPriority itemPriority = getProductPriority(product);
                 if (itemPriority.getLevel() < highestPriority.getLevel()) {
@@ -457,9 +599,7 @@ public class DeliveryService {
     public List<DeliveryAgentDto> getTodaysDeliveries(String agentUsername) {
         logger.info("Fetching today's deliveries for agent: {}", agentUsername);
 
-        String[] searchNames = getAgentSearchNames(agentUsername);
-        List<Delivery> deliveries = findDeliveriesByAgentNames(searchNames,
-            name -> deliveryRepository.findTodaysDeliveriesByAgent(name));
+        List<Delivery> deliveries = findAgentDeliveries(agentUsername, deliveryRepository::findTodaysDeliveriesByAgent);
 
         logger.info("Found {} today's deliveries for agent: {}", deliveries.size(), agentUsername);
 
@@ -473,9 +613,7 @@ public class DeliveryService {
     public List<DeliveryAgentDto> getPendingDeliveriesForAgent(String agentUsername) {
         logger.info("Fetching pending deliveries for agent: {}", agentUsername);
 
-        String[] searchNames = getAgentSearchNames(agentUsername);
-        List<Delivery> deliveries = findDeliveriesByAgentNames(searchNames,
-            name -> deliveryRepository.findPendingDeliveriesByAgent(name));
+        List<Delivery> deliveries = findAgentDeliveries(agentUsername, deliveryRepository::findPendingDeliveriesByAgent);
 
         logger.info("Found {} pending deliveries for agent: {}", deliveries.size(), agentUsername);
 
@@ -489,9 +627,7 @@ public class DeliveryService {
     public List<DeliveryAgentDto> getDeliveredDeliveriesForAgent(String agentUsername) {
         logger.info("Fetching delivered deliveries for agent: {}", agentUsername);
 
-        String[] searchNames = getAgentSearchNames(agentUsername);
-        List<Delivery> deliveries = findDeliveriesByAgentNames(searchNames,
-            name -> deliveryRepository.findDeliveredDeliveriesByAgent(name));
+        List<Delivery> deliveries = findAgentDeliveries(agentUsername, deliveryRepository::findDeliveredDeliveriesByAgent);
 
         logger.info("Found {} delivered deliveries for agent: {}", deliveries.size(), agentUsername);
 
@@ -516,6 +652,7 @@ public class DeliveryService {
         }
         
         // Update delivery fields
+        DeliveryStatus previousStatus = delivery.getStatus();
         delivery.setStatus(request.getStatus());
         delivery.setStatusReason(request.getStatusReason());
         
@@ -527,18 +664,14 @@ public class DeliveryService {
             delivery.setNotes(request.getNotes());
         }
         
-        // Handle signature for delivered status - signature is now stored as string
+        // Handle signature for delivered status
         if (request.getStatus() == DeliveryStatus.DELIVERED && request.getSignatureBase64() != null && !request.getSignatureBase64().trim().isEmpty()) {
-            try {
-                // Decode base64 signature and store as bytes
-                byte[] signatureBytes = java.util.Base64.getDecoder().decode(request.getSignatureBase64().trim());
-                delivery.setCustomerSignature(signatureBytes);
-            } catch (Exception e) {
-                logger.warn("Failed to decode signature for delivery {}: {}", request.getDeliveryId(), e.getMessage());
-            }
+            signatureService.storeSignature(delivery.getId(), request.getSignatureBase64());
+            delivery.setHasSignature(true);
         }
         
         delivery = deliveryRepository.save(delivery);
+        eventPublisher.publishEvent(new DeliveryStatusChangedEvent(previousStatus, request.getStatus()));
         logger.info("Delivery {} updated successfully by agent", request.getDeliveryId());
         
         return convertToAgentDto(delivery);
@@ -594,15 +727,30 @@ public class DeliveryService {
         }
 
         // Verify the delivery belongs to this agent
-        String[] searchNames = getAgentSearchNames(agentUsername);
-        String deliveryAgent = delivery.getDeliveryAgent();
-
-        for (String name : searchNames) {
-            if (name.equals(deliveryAgent)) {
-                return convertToAgentDto(delivery);
-            }
+        Agent agent = agentDirectoryService.lookup(agentUsername);
+        boolean owned = delivery.getAgentUser() != null
+                ? delivery.getAgentUser().getId().equals(agent.userId())
+                : agentNames(agent).contains(delivery.getDeliveryAgent());
+        if (!owned) {
+            return null;
         }
 
-        return null;
+        return convertToAgentDto(delivery);
+    }
+
+    /**
+     * Run an agent query by the agent's user id; usernames that are not delivery agents own no deliveries
+     */
+    private List<Delivery> findAgentDeliveries(String agentUsername,
+                                               BiFunction<Long, Collection<String>, List<Delivery>> agentQuery) {
+        Agent agent = agentDirectoryService.lookup(agentUsername);
+        return agentQuery.apply(agent.userId(), agentNames(agent));
+    }
+
+    /**
+     * Names an unlinked delivery may store for this agent: the username or the display name
+     */
+    private List<String> agentNames(Agent agent) {
+        return List.of(agent.username(), agent.displayName());
     }
 }
@@ -0,0 +1,115 @@
+package com.dlvery.dlvery.service;
+
+import com.dlvery.dlvery.entity.DeliverySignature;
+import com.dlvery.dlvery.entity.SignatureBlob;
+import com.dlvery.dlvery.exception.CustomExceptions.InvalidSignatureException;
+import com.dlvery.dlvery.exception.CustomExceptions.ResourceNotFoundException;
+import com.dlvery.dlvery.repository.DeliverySignatureRepository;
+import com.dlvery.dlvery.repository.SignatureBlobRepository;
+import com.dlvery.dlvery.util.SignatureImageNormalizer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Ingests customer signatures and serves them one at a time, so delivery listings never read
+ * or transmit image bytes. Uploads are size-checked before decoding, normalized to a small
+ * grayscale PNG, and stored content-addressed: identical images share one signature_blobs row.
+ * Replacing a signature leaves the previous blob in place, as other deliveries may share it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeliverySignatureService {
+
+    private final DeliverySignatureRepository signatureRepository;
+    private final SignatureBlobRepository blobRepository;
+
+    @Value("${app.signature.max-upload-bytes:1048576}")
+    private int maxUploadBytes;
+
+    @Value("${app.signature.max-source-dimension:4000}")
+    private int maxSourceDimension;
+
+    @Value("${app.signature.max-width:600}")
+    private int maxWidth;
+
+    @Value("${app.signature.max-height:300}")
+    private int maxHeight;
+
+    @Value("${app.signature.max-stored-bytes:65536}")
+    private int maxStoredBytes;
+
+    private SignatureImageNormalizer normalizer;
+
+    @PostConstruct
+    void createNormalizer() {
+        normalizer = new SignatureImageNormalizer(maxWidth, maxHeight, maxSourceDimension, maxStoredBytes);
+    }
+
+    /**
+     * Decode, normalize and store a Base64 signature for the delivery, replacing any earlier one.
+     * Validation fails before anything is written, so a rejected signature leaves the caller's
+     * transaction usable.
+     */
+    @Transactional(noRollbackFor = InvalidSignatureException.class)
+    public void storeSignature(Long deliveryId, String signatureBase64) {
+        String encoded = signatureBase64.trim();
+        // Base64 carries 3 bytes per 4 characters; reject before allocating the decoded copy
+        if ((long) encoded.length() / 4 * 3 > maxUploadBytes) {
+            throw new InvalidSignatureException("Signature exceeds the maximum upload size of " + maxUploadBytes + " bytes");
+        }
+        byte[] data;
+        try {
+            data = Base64.getDecoder().decode(encoded);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSignatureException("Signature is not valid Base64");
+        }
+        store(deliveryId, normalizer.normalize(data), SignatureImageNormalizer.CONTENT_TYPE);
+        log.info("Customer signature stored for delivery {}", deliveryId);
+    }
+
+    /**
+     * Store a signature migrated from the legacy column. Images that cannot be normalized are
+     * kept as they are rather than lost.
+     */
+    @Transactional
+    public void storeLegacySignature(Long deliveryId, byte[] data) {
+        try {
+            store(deliveryId, normalizer.normalize(data), SignatureImageNormalizer.CONTENT_TYPE);
+        } catch (InvalidSignatureException e) {
+            log.warn("Keeping legacy signature of delivery {} unnormalized: {}", deliveryId, e.getMessage());
+            store(deliveryId, data, "application/octet-stream");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public SignatureBlob getSignature(Long deliveryId) {
+        return signatureRepository.findById(deliveryId)
+                .flatMap(signature -> blobRepository.findById(signature.getBlobHash()))
+                .orElseThrow(() -> new ResourceNotFoundException("Signature not found for delivery ID: " + deliveryId));
+    }
+
+    private void store(Long deliveryId, byte[] data, String contentType) {
+        String hash = sha256(data);
+        blobRepository.insertIfAbsent(hash, contentType, data.length, data, LocalDateTime.now());
+        signatureRepository.save(new DeliverySignature(deliveryId, hash, LocalDateTime.now()));
+    }
+
+    private String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
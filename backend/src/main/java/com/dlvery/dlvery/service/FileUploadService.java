@@ -1,270 +1,262 @@
  package com.dlvery.dlvery.service;
  
  import com.dlvery.dlvery.dto.ProductDto;
- import com.dlvery.dlvery.entity.ProductCategory;
+ import com.dlvery.dlvery.entity.ImportFormat;
+ import com.dlvery.dlvery.importer.CsvRowReader;
+ import com.dlvery.dlvery.importer.ImportProgressListener;
+ import com.dlvery.dlvery.importer.ImportRow;
+ import com.dlvery.dlvery.importer.ImportRowReader;
+ import com.dlvery.dlvery.importer.ProductRowParser;
+ import com.dlvery.dlvery.importer.XlsxRowReader;
+ import jakarta.annotation.PostConstruct;
+ import jakarta.annotation.PreDestroy;
  import lombok.RequiredArgsConstructor;
- import org.apache.poi.ss.usermodel.*;
- import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+ import lombok.extern.slf4j.Slf4j;
+ import org.springframework.beans.factory.annotation.Value;
  import org.springframework.stereotype.Service;
- import org.springframework.web.multipart.MultipartFile;
+ import org.springframework.transaction.PlatformTransactionManager;
+ import org.springframework.transaction.support.TransactionTemplate;
  
  import java.io.IOException;
- import java.math.BigDecimal;
- import java.time.LocalDate;
- import java.time.format.DateTimeFormatter;
- import java.time.format.DateTimeParseException;
+ import java.nio.file.Path;
+ import java.util.ArrayDeque;
  import java.util.ArrayList;
+ import java.util.Deque;
  import java.util.List;
+ import java.util.concurrent.CompletableFuture;
+ import java.util.concurrent.ForkJoinPool;
+ import java.util.function.Consumer;
 
+/**
+ * Reads an inventory file row by row and creates a product for each valid data row.
+ * Rows are parsed and validated in batches on a shared pool while the reader carries on;
+ * results are consumed in file order, and the number of batches in flight is bounded so a
+ * slow database write holds the reader back instead of buffering the file in memory.
+ * Rows are written in chunks, one transaction per chunk, and their outcomes are reported
+ * and checkpointed inside that transaction, so an interrupted import can resume after the
+ * last committed row. A chunk that fails is retried row by row so one bad row does not sink
+ * its neighbours. A dry run stops after validation and touches neither the database nor
+ * the SKU sequences.
+ * Row outcomes go to the listener; only problems with the file as a whole are thrown.
+ */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class FileUploadService {
     
+    // Rows handed to the validation pool per task
+    private static final int VALIDATION_BATCH_SIZE = 256;
+    
     private final InventoryService inventoryService;
+    private final PlatformTransactionManager transactionManager;
+    
+    @Value("${app.import.chunk-size:500}")
+    private int chunkSize;
+    
+    @Value("${app.import.validation-threads:0}")
+    private int validationThreads;
+    
+    @Value("${app.import.validation-max-in-flight:16}")
+    private int maxBatchesInFlight;
+    
+    private final ImportRowReader xlsxReader = new XlsxRowReader();
+    private final ImportRowReader csvReader = new CsvRowReader();
+    private final ProductRowParser rowParser = new ProductRowParser();
+    
+    private ForkJoinPool validationPool;
     
-     public String processInventoryFile(MultipartFile file) {
+    @PostConstruct
+    void startValidationPool() {
+        int parallelism = validationThreads > 0 ? validationThreads : Runtime.getRuntime().availableProcessors();
+        validationPool = new ForkJoinPool(parallelism);
+    }
+    
+    @PreDestroy
+    void stopValidationPool() {
+        validationPool.shutdownNow();
+    }
+    
+     /**
+      * Import the file's data rows after resumeAfterRow (0 for a fresh import)
+      */
+     public void importFile(Path file, ImportFormat format, int resumeAfterRow,
+                            ImportProgressListener listener) throws IOException {
+         ImportState state = new ImportState();
+         
+         validate(file, format, resumeAfterRow, state, parsed -> importRow(parsed, state, listener));
+         writeChunk(state.chunk, listener);
+         
+         checkRowsFound(state);
+     }
+     
+     /**
+      * Parse and validate the file without writing anything; valid rows are reported as imported
+      */
+     public void validateFile(Path file, ImportFormat format, ImportProgressListener listener) throws IOException {
+         ImportState state = new ImportState();
+         
+         validate(file, format, 0, state, parsed -> report(parsed, listener));
+         
+         checkRowsFound(state);
+     }
+     
+     private void checkRowsFound(ImportState state) {
+         if (!state.headerFound) {
+             throw new IllegalArgumentException("Header row not found. Expected 'name' or 'sku' in first column.");
+         }
+         if (state.dataRows == 0) {
+             throw new IllegalArgumentException("No valid products found in the file");
+         }
+     }
+     
+     /**
+      * Read the file and hand every data row after the header and past skipAfterRow, parsed,
+      * to the sink in file order
+      */
+     private void validate(Path file, ImportFormat format, int skipAfterRow, ImportState state,
+                           Consumer<ParsedRow> sink) throws IOException {
+         ImportRowReader reader = format == ImportFormat.CSV ? csvReader : xlsxReader;
+         ValidationPipeline pipeline = new ValidationPipeline(sink);
+         
+         reader.read(file, row -> {
+             if (!state.headerFound) {
+                 // Skip info rows until the header row
+                 state.headerFound = rowParser.isHeader(row);
+                 return;
+             }
+             state.dataRows++;
+             if (row.rowNumber() > skipAfterRow) {
+                 pipeline.add(row);
+             }
+         });
+         pipeline.finish();
+     }
+     
+     private void importRow(ParsedRow parsed, ImportState state, ImportProgressListener listener) {
+         // Invalid rows ride along so outcomes are reported and checkpointed in file order
+         state.chunk.add(parsed);
+         if (state.chunk.size() >= chunkSize) {
+             writeChunk(state.chunk, listener);
+         }
+     }
+     
+     private void writeChunk(List<ParsedRow> chunk, ImportProgressListener listener) {
+         if (chunk.isEmpty()) {
+             return;
+         }
+         TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
          try {
-             List<ProductDto> products = parseXLSXFile(file);
-             int successCount = 0;
-             int errorCount = 0;
-             
-             for (ProductDto product : products) {
-                 try {
-                     inventoryService.createProduct(product);
-                     successCount++;
-                 } catch (Exception e) {
-                     errorCount++;
-                     // Log error for specific product
+             transactionTemplate.executeWithoutResult(status -> {
+                 List<ProductDto> products = chunk.stream()
+                         .filter(row -> row.error() == null)
+                         .map(ParsedRow::product)
+                         .toList();
+                 if (!products.isEmpty()) {
+                     inventoryService.createProducts(products);
                  }
+                 chunk.forEach(row -> report(row, listener));
+                 listener.checkpoint(chunk.get(chunk.size() - 1).rowNumber());
+             });
+         } catch (Exception e) {
+             log.warn("Import chunk of {} rows starting at row {} failed, retrying row by row: {}",
+                     chunk.size(), chunk.get(0).rowNumber(), e.getMessage());
+             for (ParsedRow row : chunk) {
+                 writeRow(row, listener, transactionTemplate);
              }
-             
-             return String.format("File processed successfully. %d products created, %d errors.", 
-                                successCount, errorCount);
-             
+         }
+         chunk.clear();
+     }
+     
+     private void writeRow(ParsedRow row, ImportProgressListener listener, TransactionTemplate transactionTemplate) {
+         try {
+             transactionTemplate.executeWithoutResult(status -> {
+                 if (row.error() == null) {
+                     inventoryService.createProduct(row.product());
+                 }
+                 report(row, listener);
+                 listener.checkpoint(row.rowNumber());
+             });
          } catch (Exception e) {
-             throw new RuntimeException("Error processing file: " + e.getMessage());
+             transactionTemplate.executeWithoutResult(status -> {
+                 listener.rowFailed(row.rowNumber(), "Failed to create product: " + e.getMessage());
+                 listener.checkpoint(row.rowNumber());
+             });
          }
      }
-    
-     private List<ProductDto> parseXLSXFile(MultipartFile file) throws IOException {
-         List<ProductDto> products = new ArrayList<>();
+     
+     private void report(ParsedRow row, ImportProgressListener listener) {
+         if (row.error() != null) {
+             listener.rowFailed(row.rowNumber(), row.error());
+         } else {
+             listener.rowImported(row.rowNumber());
+         }
+     }
+     
+     private List<ParsedRow> parseBatch(List<ImportRow> rows) {
+         List<ParsedRow> parsed = new ArrayList<>(rows.size());
+         for (ImportRow row : rows) {
+             try {
+                 parsed.add(new ParsedRow(row.rowNumber(), rowParser.parse(row), null));
+             } catch (Exception e) {
+                 parsed.add(new ParsedRow(row.rowNumber(), null, e.getMessage()));
+             }
+         }
+         return parsed;
+     }
+     
+     /**
+      * A parsed data row: either a product or the reason it was rejected
+      */
+     private record ParsedRow(int rowNumber, ProductDto product, String error) {
+     }
+     
+     /**
+      * Batches rows onto the validation pool and drains completed batches, oldest first, once
+      * more than the allowed number are in flight. Used from the reading thread only.
+      */
+     private final class ValidationPipeline {
          
-         try (Workbook workbook = new XSSFWorkbook(file.getInputStream())) {
-             Sheet sheet = workbook.getSheetAt(0); // Use first sheet
-             int rowNumber = 0;
-             int headerRowIndex = -1;
-             
-             // Find the header row (skip info rows)
-             for (Row row : sheet) {
-                 if (row == null) continue;
-                 
-                 Cell firstCell = row.getCell(0);
-                 if (firstCell != null) {
-                     String firstCellValue = getCellValueAsString(firstCell).trim().toLowerCase();
-                     // Check if this is the header row
-                     if (firstCellValue.equals("name") || firstCellValue.equals("sku")) {
-                         headerRowIndex = row.getRowNum();
-                         break;
-                     }
+         private final Consumer<ParsedRow> sink;
+         private final Deque<CompletableFuture<List<ParsedRow>>> inFlight = new ArrayDeque<>();
+         private List<ImportRow> batch = new ArrayList<>(VALIDATION_BATCH_SIZE);
+         
+         private ValidationPipeline(Consumer<ParsedRow> sink) {
+             this.sink = sink;
+         }
+         
+         private void add(ImportRow row) {
+             batch.add(row);
+             if (batch.size() == VALIDATION_BATCH_SIZE) {
+                 submitBatch();
+                 while (inFlight.size() > maxBatchesInFlight) {
+                     drainOldest();
                  }
              }
-             
-             if (headerRowIndex == -1) {
-                 throw new RuntimeException("Header row not found. Expected 'name' or 'sku' in first column.");
+         }
+         
+         private void finish() {
+             if (!batch.isEmpty()) {
+                 submitBatch();
              }
-             
-             // Parse data rows
-             for (Row row : sheet) {
-                 rowNumber = row.getRowNum() + 1; // 1-based for user display
-                 
-                 // Skip rows before or at header
-                 if (row.getRowNum() <= headerRowIndex) {
-                     continue;
-                 }
-                 
-                 // Skip empty rows
-                 if (row == null || row.getLastCellNum() == 0) {
-                     continue;
-                 }
-                 
-                 // Check if row is completely empty
-                 boolean isEmpty = true;
-                 for (int i = 0; i < row.getLastCellNum(); i++) {
-                     Cell cell = row.getCell(i);
-                     if (cell != null && !getCellValueAsString(cell).trim().isEmpty()) {
-                         isEmpty = false;
-                         break;
-                     }
-                 }
-                 
-                 if (isEmpty) {
-                     continue;
-                 }
-                 
-                 try {
-                     ProductDto product = parseProductFromRow(row, rowNumber);
-                     products.add(product);
-                 } catch (Exception e) {
-                     throw new RuntimeException("Error parsing row " + rowNumber + ": " + e.getMessage());
-                 }
+             while (!inFlight.isEmpty()) {
+                 drainOldest();
              }
          }
          
-         if (products.isEmpty()) {
-             throw new RuntimeException("No valid products found in the XLSX file");
+         private void submitBatch() {
+             List<ImportRow> rows = batch;
+             batch = new ArrayList<>(VALIDATION_BATCH_SIZE);
+             inFlight.addLast(CompletableFuture.supplyAsync(() -> parseBatch(rows), validationPool));
          }
          
-         return products;
+         private void drainOldest() {
+             inFlight.removeFirst().join().forEach(sink);
+         }
      }
      
-     private String getCellValueAsString(Cell cell) {
-         if (cell == null) {
-             return "";
-         }
-         switch (cell.getCellType()) {
-             case STRING:
-                 return cell.getStringCellValue();
-             case NUMERIC:
-                 if (DateUtil.isCellDateFormatted(cell)) {
-                     return cell.getDateCellValue().toString();
-                 } else {
-                     return String.valueOf((int) cell.getNumericCellValue());
-                 }
-             case BOOLEAN:
-                 return String.valueOf(cell.getBooleanCellValue());
-             case FORMULA:
-                 return cell.getCellFormula();
-             default:
-                 return "";
-         }
+     private static final class ImportState {
+         private final List<ParsedRow> chunk = new ArrayList<>();
+         private boolean headerFound;
+         private int dataRows;
      }
-    
-    private String[] getValidCategories() {
-        return java.util.Arrays.stream(ProductCategory.values())
-                .map(Enum::name)
-                .toArray(String[]::new);
-    }
-    
-    private LocalDate parseDate(String dateStr) throws DateTimeParseException {
-        // List of supported date formats
-        DateTimeFormatter[] formatters = {
-            DateTimeFormatter.ofPattern("yyyy-MM-dd"),    // 2024-12-31
-            DateTimeFormatter.ofPattern("dd-MM-yyyy"),    // 31-12-2024
-            DateTimeFormatter.ofPattern("MM/dd/yyyy"),    // 12/31/2024
-            DateTimeFormatter.ofPattern("dd/MM/yyyy"),    // 31/12/2024
-            DateTimeFormatter.ofPattern("yyyy/MM/dd"),    // 2024/12/31
-            DateTimeFormatter.ofPattern("dd.MM.yyyy"),    // 31.12.2024
-            DateTimeFormatter.ofPattern("yyyy.MM.dd")     // 2024.12.31
-        };
-        
-        // Try each formatter until one works
-        for (DateTimeFormatter formatter : formatters) {
-            try {
-                return LocalDate.parse(dateStr, formatter);
-            } catch (DateTimeParseException e) {
-                // Continue to next formatter
-            }
-        }
-        
-        // If none worked, throw exception
-        throw new DateTimeParseException("Unable to parse date: " + dateStr, dateStr, 0);
-    }
-
-    private ProductDto parseProductFromRow(Row row, int rowNumber) throws Exception {
-        // Check minimum columns (without SKU: name, description, category, quantity, unitPrice = 5)
-        if (row.getLastCellNum() < 5) {
-            throw new RuntimeException("Insufficient columns. Expected at least 5 columns (name,description,category,quantity,unitPrice)");
-        }
-
-        ProductDto product = new ProductDto();
-
-        // Parse required fields (SKU will be auto-generated)
-        parseRequiredFields(product, row, rowNumber);
-
-        // Parse optional fields
-        parseOptionalFields(product, row);
-
-        return product;
-    }
-
-    private void parseRequiredFields(ProductDto product, Row row, int rowNumber) throws Exception {
-        // SKU is no longer in the file - it will be auto-generated based on category
-        // Column indices shifted: 0=name, 1=description, 2=category, 3=quantity, 4=unitPrice
-
-        // Name validation (column 0)
-        String name = getCellValueAsString(row.getCell(0)).trim();
-        if (name.isEmpty()) {
-            throw new RuntimeException("Product name cannot be empty");
-        }
-        product.setName(name);
-
-        // Description (column 1)
-        product.setDescription(getCellValueAsString(row.getCell(1)).trim());
-
-        // Category validation (column 2)
-        String categoryStr = getCellValueAsString(row.getCell(2)).trim().toUpperCase().replace(" ", "_");
-        try {
-            ProductCategory category = ProductCategory.valueOf(categoryStr);
-            product.setCategory(category);
-        } catch (IllegalArgumentException e) {
-            throw new RuntimeException("Invalid category '" + getCellValueAsString(row.getCell(2)).trim() + "'. Valid categories: " +
-                                       String.join(", ", getValidCategories()));
-        }
-
-        // Quantity validation (column 3)
-        try {
-            int quantity = (int) row.getCell(3).getNumericCellValue();
-            if (quantity < 0) {
-                throw new RuntimeException("Quantity cannot be negative");
-            }
-            product.setQuantity(quantity);
-        } catch (Exception e) {
-            throw new RuntimeException("Invalid quantity. Must be a number");
-        }
-
-        // Unit price validation (column 4)
-        try {
-            double price = row.getCell(4).getNumericCellValue();
-            BigDecimal unitPrice = BigDecimal.valueOf(price);
-            if (unitPrice.compareTo(BigDecimal.ZERO) < 0) {
-                throw new RuntimeException("Unit price cannot be negative");
-            }
-            product.setUnitPrice(unitPrice);
-        } catch (Exception e) {
-            throw new RuntimeException("Invalid unit price. Must be a number");
-        }
-    }
-
-    private void parseOptionalFields(ProductDto product, Row row) throws Exception {
-        // Column indices without SKU: 5=isDamaged, 6=isPerishable, 7=expiryDate
-        
-        // Is damaged (column 5)
-        if (row.getLastCellNum() > 5 && row.getCell(5) != null) {
-            String isDamagedStr = getCellValueAsString(row.getCell(5)).trim();
-            product.setIsDamaged(!isDamagedStr.isEmpty() && Boolean.parseBoolean(isDamagedStr));
-        } else {
-            product.setIsDamaged(false);
-        }
-
-        // Is perishable (column 6)
-        if (row.getLastCellNum() > 6 && row.getCell(6) != null) {
-            String isPerishableStr = getCellValueAsString(row.getCell(6)).trim();
-            product.setIsPerishable(!isPerishableStr.isEmpty() && Boolean.parseBoolean(isPerishableStr));
-        } else {
-            product.setIsPerishable(false);
-        }
-
-        // Expiry date (column 7)
-        if (row.getLastCellNum() > 7 && row.getCell(7) != null) {
-            String expiryDateStr = getCellValueAsString(row.getCell(7)).trim();
-            if (!expiryDateStr.isEmpty()) {
-                try {
-                    LocalDate expiryDate = parseDate(expiryDateStr);
-                    product.setExpiryDate(expiryDate);
-                } catch (Exception e) {
-                    throw new RuntimeException("Invalid expiry date '" + expiryDateStr + "'. Supported formats: YYYY-MM-DD, DD-MM-YYYY, MM/DD/YYYY, DD/MM/YYYY");
-                }
-            }
-        }
-    }
-}
\ No newline at end of file
+}
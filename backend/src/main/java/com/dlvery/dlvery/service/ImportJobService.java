@@ -0,0 +1,408 @@
+package com.dlvery.dlvery.service;
+
+import com.dlvery.dlvery.dto.ImportJobDto;
+import com.dlvery.dlvery.dto.ImportRowErrorDto;
+import com.dlvery.dlvery.dto.ImportValidationReportDto;
+import com.dlvery.dlvery.entity.ImportFormat;
+import com.dlvery.dlvery.entity.ImportJob;
+import com.dlvery.dlvery.entity.ImportJobError;
+import com.dlvery.dlvery.entity.ImportJobStatus;
+import com.dlvery.dlvery.exception.CustomExceptions.ImportRejectedException;
+import com.dlvery.dlvery.exception.CustomExceptions.ResourceNotFoundException;
+import com.dlvery.dlvery.importer.ImportProgressListener;
+import com.dlvery.dlvery.repository.ImportJobErrorRepository;
+import com.dlvery.dlvery.repository.ImportJobRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Runs inventory file imports in the background. Uploads are spooled to a temp file and queued
+ * on a small bounded worker pool; progress and row errors are persisted while the job runs so
+ * clients can poll the job and download an error report.
+ * Jobs are keyed by the file's SHA-256: re-uploading a file whose import completed or is under
+ * way returns that job, and re-uploading one that failed or was interrupted resumes the same
+ * job after its last committed row instead of creating its products again.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImportJobService {
+
+    private final ImportJobRepository importJobRepository;
+    private final ImportJobErrorRepository importJobErrorRepository;
+    private final FileUploadService fileUploadService;
+
+    @Value("${app.import.workers:2}")
+    private int workers;
+
+    @Value("${app.import.queue-capacity:10}")
+    private int queueCapacity;
+
+    @Value("${app.import.max-stored-errors:10000}")
+    private int maxStoredErrors;
+
+    @Value("${app.import.dry-run-max-errors:100}")
+    private int dryRunMaxErrors;
+
+    // Live counters of running jobs, so polling does not wait for the next flush
+    private final Map<Long, JobProgress> runningJobs = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void startWorkers() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "import-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void stopWorkers() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * The worker queue does not survive a restart, so jobs left queued or running are marked
+     * interrupted; re-uploading the file resumes them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void markInterruptedJobs() {
+        int interrupted = importJobRepository.markInterrupted(
+                List.of(ImportJobStatus.QUEUED, ImportJobStatus.RUNNING), ImportJobStatus.INTERRUPTED, LocalDateTime.now());
+        if (interrupted > 0) {
+            log.info("Marked {} unfinished import jobs as interrupted", interrupted);
+        }
+    }
+
+    public ImportJobDto submit(MultipartFile file, String username) {
+        ImportFormat format = ImportFormat.fromFilename(file.getOriginalFilename());
+        Spooled spooled = spool(file, format);
+        Path tempFile = spooled.path();
+
+        ImportJob job;
+        // Serialised so two uploads of the same file cannot both start a job
+        synchronized (this) {
+            job = importJobRepository.findFirstByChecksumOrderByIdDesc(spooled.checksum()).orElse(null);
+            if (job != null && !isResumable(job.getStatus())) {
+                deleteQuietly(tempFile);
+                log.info("Upload of {} matches import job {} ({})", file.getOriginalFilename(), job.getId(), job.getStatus());
+                return convertToDto(job);
+            }
+            if (job == null) {
+                job = new ImportJob();
+                job.setFormat(format);
+                job.setChecksum(spooled.checksum());
+                job.setCreatedBy(username);
+            }
+            job.setFilename(file.getOriginalFilename());
+            job.setStatus(ImportJobStatus.QUEUED);
+            job.setErrorMessage(null);
+            job.setFinishedAt(null);
+            job = importJobRepository.save(job);
+        }
+
+        Long jobId = job.getId();
+        try {
+            executor.execute(() -> runJob(jobId, tempFile));
+        } catch (RejectedExecutionException e) {
+            deleteQuietly(tempFile);
+            finishJob(jobId, ImportJobStatus.FAILED, "Import queue is full");
+            throw new ImportRejectedException("Too many imports are queued. Please try again later.");
+        }
+
+        if (job.getLastCommittedRow() > 0) {
+            log.info("Queued import job {} for {} to resume after row {}", jobId, job.getFilename(), job.getLastCommittedRow());
+        } else {
+            log.info("Queued import job {} for {} ({})", jobId, job.getFilename(), format);
+        }
+        return convertToDto(job);
+    }
+
+    /**
+     * Validate an upload on the calling thread without importing it: no products, movements,
+     * SKUs or job records are written. Returns the row counts and the first row errors.
+     */
+    public ImportValidationReportDto validate(MultipartFile file) {
+        ImportFormat format = ImportFormat.fromFilename(file.getOriginalFilename());
+        Path tempFile = spool(file, format).path();
+
+        ImportValidationReportDto report = new ImportValidationReportDto();
+        report.setFilename(file.getOriginalFilename());
+        report.setFormat(format);
+        try {
+            fileUploadService.validateFile(tempFile, format, new ImportProgressListener() {
+                @Override
+                public void rowImported(int rowNumber) {
+                    report.setRowsValid(report.getRowsValid() + 1);
+                }
+
+                @Override
+                public void rowFailed(int rowNumber, String message) {
+                    report.setRowsInvalid(report.getRowsInvalid() + 1);
+                    if (report.getErrors().size() < dryRunMaxErrors) {
+                        report.getErrors().add(new ImportRowErrorDto(rowNumber, message));
+                    } else {
+                        report.setErrorsTruncated(true);
+                    }
+                }
+            });
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading uploaded file: " + e.getMessage());
+        } finally {
+            deleteQuietly(tempFile);
+        }
+        report.setRowsProcessed(report.getRowsValid() + report.getRowsInvalid());
+        return report;
+    }
+
+    public ImportJobDto getJob(Long id) {
+        return convertToDto(findJob(id));
+    }
+
+    /**
+     * Write the job's row errors as CSV (row,error), ordered by row number
+     */
+    @Transactional(readOnly = true)
+    public void writeErrorReport(Long id, OutputStream outputStream) throws IOException {
+        findJob(id);
+        Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        writer.write("row,error\n");
+        try (Stream<ImportJobError> errors = importJobErrorRepository.streamByJobId(id)) {
+            for (ImportJobError error : (Iterable<ImportJobError>) errors::iterator) {
+                writer.write(String.valueOf(error.getRowNumber()));
+                writer.write(',');
+                writer.write(csvQuote(error.getMessage()));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    private void runJob(Long jobId, Path file) {
+        ImportJob job = findJob(jobId);
+        job.setStatus(ImportJobStatus.RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+        importJobRepository.save(job);
+
+        // Counters continue from the last checkpoint; rows after it are read again
+        JobProgress progress = new JobProgress(jobId, job.getRowsSucceeded(), job.getRowsFailed());
+        runningJobs.put(jobId, progress);
+        try {
+            fileUploadService.importFile(file, job.getFormat(), job.getLastCommittedRow(), progress);
+            finishJob(jobId, ImportJobStatus.COMPLETED, null);
+            log.info("Import job {} completed: {} imported, {} failed", jobId, progress.succeeded, progress.failed);
+        } catch (Exception e) {
+            log.error("Import job {} failed: {}", jobId, e.getMessage(), e);
+            finishJob(jobId, ImportJobStatus.FAILED, e.getMessage());
+        } finally {
+            runningJobs.remove(jobId);
+            deleteQuietly(file);
+        }
+    }
+
+    /**
+     * Copy the upload to a temp file, hashing it on the way through
+     */
+    private Spooled spool(MultipartFile file, ImportFormat format) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        Path tempFile = null;
+        try (InputStream input = new DigestInputStream(file.getInputStream(), digest)) {
+            tempFile = Files.createTempFile("inventory-import-", "." + format.name().toLowerCase());
+            Files.copy(input, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            return new Spooled(tempFile, HexFormat.of().formatHex(digest.digest()));
+        } catch (IOException e) {
+            if (tempFile != null) {
+                deleteQuietly(tempFile);
+            }
+            throw new RuntimeException("Error storing uploaded file: " + e.getMessage());
+        }
+    }
+
+    private boolean isResumable(ImportJobStatus status) {
+        return status == ImportJobStatus.FAILED || status == ImportJobStatus.INTERRUPTED;
+    }
+
+    private void finishJob(Long jobId, ImportJobStatus status, String errorMessage) {
+        ImportJob job = findJob(jobId);
+        job.setStatus(status);
+        job.setErrorMessage(truncate(errorMessage));
+        job.setFinishedAt(LocalDateTime.now());
+        importJobRepository.save(job);
+    }
+
+    private ImportJob findJob(Long id) {
+        return importJobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Import job not found with ID: " + id));
+    }
+
+    private ImportJobDto convertToDto(ImportJob job) {
+        ImportJobDto dto = new ImportJobDto();
+        dto.setId(job.getId());
+        dto.setFilename(job.getFilename());
+        dto.setFormat(job.getFormat());
+        dto.setStatus(job.getStatus());
+        dto.setErrorMessage(job.getErrorMessage());
+        dto.setCreatedAt(job.getCreatedAt());
+        dto.setStartedAt(job.getStartedAt());
+        dto.setFinishedAt(job.getFinishedAt());
+        dto.setLastCommittedRow(job.getLastCommittedRow());
+
+        JobProgress live = runningJobs.get(job.getId());
+        if (live != null) {
+            dto.setRowsProcessed(live.succeeded + live.failed);
+            dto.setRowsSucceeded(live.succeeded);
+            dto.setRowsFailed(live.failed);
+        } else {
+            dto.setRowsProcessed(job.getRowsProcessed());
+            dto.setRowsSucceeded(job.getRowsSucceeded());
+            dto.setRowsFailed(job.getRowsFailed());
+        }
+
+        if (job.getStartedAt() != null) {
+            LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+            double seconds = Math.max(Duration.between(job.getStartedAt(), end).toMillis(), 1) / 1000.0;
+            dto.setRowsPerSecond(Math.round(dto.getRowsProcessed() / seconds * 10) / 10.0);
+        }
+        return dto;
+    }
+
+    private String csvQuote(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private String truncate(String message) {
+        return message != null && message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            path.toFile().deleteOnExit();
+        }
+    }
+
+    private record Spooled(Path path, String checksum) {
+    }
+
+    /**
+     * Counts row outcomes for one job and saves them, with the buffered row errors and the
+     * checkpoint, inside each chunk's transaction. If that transaction rolls back, the counters
+     * and buffer return to the last committed checkpoint, since the rows will be reported again.
+     * Only the job's worker thread writes; pollers read the volatile counters.
+     */
+    private final class JobProgress implements ImportProgressListener {
+
+        private final Long jobId;
+        private final List<ImportJobError> pendingErrors = new ArrayList<>();
+        private volatile int succeeded;
+        private volatile int failed;
+        private int storedErrors;
+
+        // Values as of the last committed checkpoint
+        private int committedSucceeded;
+        private int committedFailed;
+        private int committedStoredErrors;
+
+        private JobProgress(Long jobId, int succeeded, int failed) {
+            this.jobId = jobId;
+            this.succeeded = succeeded;
+            this.failed = failed;
+            this.storedErrors = Math.min(failed, maxStoredErrors);
+            markCommitted();
+        }
+
+        @Override
+        public void rowImported(int rowNumber) {
+            succeeded++;
+        }
+
+        @Override
+        public void rowFailed(int rowNumber, String message) {
+            failed++;
+            if (storedErrors < maxStoredErrors) {
+                storedErrors++;
+                pendingErrors.add(new ImportJobError(null, jobId, rowNumber, truncate(message)));
+            }
+        }
+
+        @Override
+        public void checkpoint(int lastRowNumber) {
+            // Registered first so a failure while saving still resets the counters
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        markCommitted();
+                    } else {
+                        rollBack();
+                    }
+                }
+            });
+            importJobRepository.updateProgress(jobId, lastRowNumber, succeeded + failed, succeeded, failed);
+            if (!pendingErrors.isEmpty()) {
+                importJobErrorRepository.saveAll(pendingErrors);
+            }
+        }
+
+        private void markCommitted() {
+            pendingErrors.clear();
+            committedSucceeded = succeeded;
+            committedFailed = failed;
+            committedStoredErrors = storedErrors;
+        }
+
+        private void rollBack() {
+            pendingErrors.clear();
+            succeeded = committedSucceeded;
+            failed = committedFailed;
+            storedErrors = committedStoredErrors;
+        }
+    }
+}
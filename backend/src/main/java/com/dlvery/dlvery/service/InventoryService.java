@@ -2,23 +2,39 @@
  
  import com.dlvery.dlvery.dto.*;
  import com.dlvery.dlvery.entity.*;
+ import com.dlvery.dlvery.event.ProductChangedEvent;
+ import com.dlvery.dlvery.event.ProductChangedEvent.ProductState;
+ import com.dlvery.dlvery.event.StockChangedEvent;
+ import com.dlvery.dlvery.exception.CustomExceptions.InsufficientStockException;
  import com.dlvery.dlvery.repository.*;
+ import com.dlvery.dlvery.util.PageCursor;
+ import com.fasterxml.jackson.core.JsonGenerator;
+ import com.fasterxml.jackson.databind.ObjectMapper;
+ import jakarta.persistence.EntityManager;
  import lombok.RequiredArgsConstructor;
  import org.apache.poi.ss.usermodel.*;
  import org.apache.poi.xssf.usermodel.XSSFWorkbook;
- import org.springframework.cache.annotation.Cacheable;
+ import org.springframework.beans.factory.annotation.Value;
+ import org.springframework.context.ApplicationEventPublisher;
+ import org.springframework.data.domain.Limit;
  import org.springframework.stereotype.Service;
  import org.springframework.transaction.annotation.Transactional;
  
  import java.io.ByteArrayOutputStream;
  import java.io.IOException;
+ import java.io.OutputStream;
  import java.math.BigDecimal;
  import java.time.LocalDate;
+ import java.time.LocalDateTime;
  import java.util.ArrayList;
+ import java.util.EnumMap;
+ import java.util.Iterator;
  import java.util.List;
  import java.util.Map;
  import java.util.Optional;
+ import java.util.TreeMap;
  import java.util.stream.Collectors;
+ import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -29,12 +45,89 @@ public class InventoryService {
     private final DeliveryRepository deliveryRepository;
     private final UserRepository userRepository;
     private final DeliveryAgentProfileRepository deliveryAgentProfileRepository;
+    private final SkuSequenceService skuSequenceService;
+    private final DashboardStatsAggregator dashboardStatsAggregator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.export.fetch-size:500}")
+    private int exportFetchSize;
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int EXPORT_CLEAR_INTERVAL = 500;
+    private static final int DEFAULT_ANALYTICS_DAYS = 30;
+    private static final int MAX_ANALYTICS_DAYS = 366;
     
     public List<ProductDto> getAllProducts() {
         return productRepository.findAll().stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Get one page of products ordered by id, continuing after the given cursor
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<ProductDto> getProductsPage(String cursor, Integer limit) {
+        int pageSize = limit == null || limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        long afterId = cursor == null || cursor.isBlank() ? 0L : PageCursor.decodeLong(cursor);
+
+        // Fetch one extra row to know whether another page exists without a COUNT query
+        List<Product> products = productRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1));
+        boolean hasMore = products.size() > pageSize;
+        if (hasMore) {
+            products = products.subList(0, pageSize);
+        }
+
+        String nextCursor = hasMore ? PageCursor.encode(products.get(products.size() - 1).getId()) : null;
+        List<ProductDto> items = products.stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+
+        return new CursorPageDto<>(items, nextCursor, hasMore);
+    }
+
+    /**
+     * Stream every product to the output as NDJSON or a JSON array without materializing the catalog.
+     * Rows are read with the app.export.fetch-size JDBC fetch size (row-by-row streaming on MySQL) and the
+     * persistence context is cleared periodically, so heap usage stays flat regardless of catalog size.
+     */
+    @Transactional(readOnly = true)
+    public long exportProducts(OutputStream outputStream, boolean ndjson) throws IOException {
+        long count = 0;
+
+        try (Stream<Product> products = productRepository.streamAllOrderById(exportFetchSize);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            if (!ndjson) {
+                generator.writeStartArray();
+            }
+
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(convertToDto(iterator.next()));
+                if (ndjson) {
+                    generator.writeRaw('\n');
+                }
+
+                if (++count % EXPORT_CLEAR_INTERVAL == 0) {
+                    // Push bytes to the client and drop already-written entities from the session
+                    generator.flush();
+                    entityManager.clear();
+                }
+            }
+
+            if (!ndjson) {
+                generator.writeEndArray();
+            }
+        }
+
+        return count;
+    }
     
     public List<ProductDto> getAvailableProducts() {
         return productRepository.findAvailableProducts().stream()
@@ -71,35 +164,58 @@ public class InventoryService {
         
         product = productRepository.save(product);
         
-        // Record initial inventory movement
-        recordMovement(product, MovementType.IN, product.getQuantity(), 
-                      "Initial stock", "INITIAL", "System");
+        // Record initial inventory movement (quantity is already on the new row)
+        recordMovementEntry(product, MovementType.IN, product.getQuantity(),
+                           "Initial stock", "INITIAL", "System");
+        eventPublisher.publishEvent(new ProductChangedEvent(null, ProductState.of(product)));
         
         return convertToDto(product);
     }
 
-    private String generateSkuForCategory(ProductCategory category) {
-        // Generate prefix based on category (first 3-4 letters)
-        String prefix = getCategoryPrefix(category);
-        
-        // Find the last SKU with this prefix
-        List<Product> existingProducts = productRepository.findBySkuStartingWithOrderBySkuDesc(prefix);
-        
-        int nextNumber = 1;
-        if (!existingProducts.isEmpty()) {
-            String lastSku = existingProducts.get(0).getSku();
-            // Extract the number part from the SKU (e.g., "ELEC-0001" -> "0001")
-            String numberPart = lastSku.substring(prefix.length() + 1); // +1 for the dash
-            try {
-                nextNumber = Integer.parseInt(numberPart) + 1;
-            } catch (NumberFormatException e) {
-                // If parsing fails, start from 1
-                nextNumber = 1;
+    /**
+     * Create many products in the caller's transaction. SKUs are allocated per category in one step,
+     * products and their initial-stock movements are batch inserted, and the persistence context is
+     * flushed and cleared afterwards so long imports do not accumulate managed entities.
+     */
+    @Transactional
+    public List<Product> createProducts(List<ProductDto> productDtos) {
+        Map<ProductCategory, List<ProductDto>> byCategory = new EnumMap<>(ProductCategory.class);
+        for (ProductDto productDto : productDtos) {
+            if (productDto.getCategory() == null) {
+                throw new RuntimeException("Product category is required for SKU generation");
             }
+            byCategory.computeIfAbsent(productDto.getCategory(), key -> new ArrayList<>()).add(productDto);
         }
-        
-        // Format: PREFIX-XXXX (e.g., ELEC-0001, FOOD-0001)
-        return String.format("%s-%04d", prefix, nextNumber);
+        byCategory.forEach((category, dtos) -> {
+            List<String> skus = skuSequenceService.nextSkus(getCategoryPrefix(category), dtos.size());
+            for (int i = 0; i < dtos.size(); i++) {
+                dtos.get(i).setSku(skus.get(i));
+            }
+        });
+
+        List<Product> products = productDtos.stream()
+                .map(this::convertToEntity)
+                .collect(Collectors.toList());
+        productRepository.saveAll(products);
+
+        List<InventoryMovement> movements = products.stream()
+                .map(product -> newMovement(product, MovementType.IN, product.getQuantity(),
+                        "Initial stock", "INITIAL", "System"))
+                .collect(Collectors.toList());
+        movementRepository.saveAll(movements);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        for (Product product : products) {
+            eventPublisher.publishEvent(new ProductChangedEvent(null, ProductState.of(product)));
+        }
+        return products;
+    }
+
+    private String generateSkuForCategory(ProductCategory category) {
+        // Generate prefix based on category (first 3-4 letters)
+        return skuSequenceService.nextSku(getCategoryPrefix(category));
     }
 
     private String getCategoryPrefix(ProductCategory category) {
@@ -127,13 +243,14 @@ public class InventoryService {
                 .orElseThrow(() -> new RuntimeException("Product not found"));
 
         Integer oldQuantity = existingProduct.getQuantity();
+        ProductState before = ProductState.of(existingProduct);
 
         // Record quantity adjustment if changed
         if (!oldQuantity.equals(productDto.getQuantity())) {
             int difference = productDto.getQuantity() - oldQuantity;
             MovementType type = difference > 0 ? MovementType.IN : MovementType.OUT;
-            recordMovement(existingProduct, type, Math.abs(difference),
-                          "Quantity adjustment", "ADJUSTMENT", "System");
+            recordMovementEntry(existingProduct, type, Math.abs(difference),
+                               "Quantity adjustment", "ADJUSTMENT", "System");
         }
 
         existingProduct.setName(productDto.getName());
@@ -146,6 +263,7 @@ public class InventoryService {
         existingProduct.setExpiryDate(productDto.getExpiryDate());
 
         Product savedProduct = productRepository.save(existingProduct);
+        eventPublisher.publishEvent(new ProductChangedEvent(before, ProductState.of(savedProduct)));
 
         return convertToDto(savedProduct);
     }
@@ -153,6 +271,53 @@ public class InventoryService {
     @Transactional
     public void recordMovement(Product product, MovementType type, Integer quantity, 
                               String reason, String reference, String performedBy) {
+        // Adjust stock in a single conditional UPDATE so concurrent movements cannot overwrite each other
+        if (type == MovementType.IN) {
+            productRepository.incrementQuantity(product.getId(), quantity, LocalDateTime.now());
+            publishStockChanged(Map.of(product.getId(), quantity));
+        } else if (type == MovementType.OUT || type == MovementType.DELIVERY) {
+            if (productRepository.decrementQuantity(product.getId(), quantity, LocalDateTime.now()) == 0) {
+                throw new InsufficientStockException("Insufficient stock for product: " + product.getName());
+            }
+            publishStockChanged(Map.of(product.getId(), -quantity));
+        }
+        
+        recordMovementEntry(product, type, quantity, reason, reference, performedBy);
+    }
+
+    /**
+     * Publish the stock change of products whose quantities were just adjusted in place by the given
+     * amounts. Must run in the adjusting transaction, so the quantities read back are the new ones.
+     */
+    @Transactional
+    public void publishStockChanged(Map<Long, Integer> changeByProduct) {
+        int availableDelta = 0;
+        for (ProductRepository.ProductQuantity product : productRepository.findQuantitiesByIdIn(changeByProduct.keySet())) {
+            int before = product.getQuantity() - changeByProduct.get(product.getId());
+            availableDelta += (product.getQuantity() > 0 ? 1 : 0) - (before > 0 ? 1 : 0);
+        }
+        eventPublisher.publishEvent(new StockChangedEvent(changeByProduct.keySet(), availableDelta));
+    }
+
+    /**
+     * Write a movement history row without touching the product's stock level
+     */
+    @Transactional
+    public void recordMovementEntry(Product product, MovementType type, Integer quantity,
+                                   String reason, String reference, String performedBy) {
+        movementRepository.save(newMovement(product, type, quantity, reason, reference, performedBy));
+    }
+
+    /**
+     * Write several movement history rows in one JDBC batch
+     */
+    @Transactional
+    public void recordMovementEntries(List<InventoryMovement> movements) {
+        movementRepository.saveAll(movements);
+    }
+
+    public InventoryMovement newMovement(Product product, MovementType type, Integer quantity,
+                                         String reason, String reference, String performedBy) {
         InventoryMovement movement = new InventoryMovement();
         movement.setProduct(product);
         movement.setMovementType(type);
@@ -160,17 +325,7 @@ public class InventoryService {
         movement.setReason(reason);
         movement.setReference(reference);
         movement.setPerformedBy(performedBy);
-        
-        movementRepository.save(movement);
-        
-        // Update product quantity
-        if (type == MovementType.IN) {
-            product.setQuantity(product.getQuantity() + quantity);
-        } else if (type == MovementType.OUT || type == MovementType.DELIVERY) {
-            product.setQuantity(product.getQuantity() - quantity);
-        }
-        
-        productRepository.save(product);
+        return movement;
     }
     
     @Transactional
@@ -191,31 +346,42 @@ public class InventoryService {
                 .collect(Collectors.toList());
     }
     
-    @Cacheable(value = "dashboardStats", key = "'stats'")
     public DashboardStatsDto getDashboardStats() {
-        DashboardStatsDto stats = new DashboardStatsDto();
-
-        // Use optimized count queries instead of loading all entities
-        stats.setTotalProducts(productRepository.count());
-        stats.setAvailableProducts(productRepository.countAvailableProducts());
-        stats.setDamagedProducts(productRepository.countDamagedProducts());
-        stats.setExpiringProducts(productRepository.countExpiringProducts(LocalDate.now().plusDays(7)));
-        stats.setPendingDeliveries(deliveryRepository.countByStatus(DeliveryStatus.PENDING));
-        stats.setCompletedDeliveries(deliveryRepository.countByStatus(DeliveryStatus.DELIVERED));
-
-        // Category distribution - use JPA query instead of loading all products
-        Map<String, Long> categoryStats = getCategoryDistribution();
-        stats.setProductsByCategory(categoryStats);
-
-        return stats;
+        // Served from event-maintained counters; see DashboardStatsAggregator
+        return dashboardStatsAggregator.getStats();
     }
 
-    private Map<String, Long> getCategoryDistribution() {
-        return productRepository.findAll().stream()
-                .collect(Collectors.groupingBy(
-                    p -> p.getCategory().name(),
-                    Collectors.counting()
-                ));
+    /**
+     * Breakdowns for the analytics view, computed with GROUP BY queries.
+     * The delivered histogram covers the last {@code days} days and includes days with no deliveries.
+     */
+    @Transactional(readOnly = true)
+    public AnalyticsDto getAnalytics(Integer days) {
+        int window = days == null || days <= 0 ? DEFAULT_ANALYTICS_DAYS : Math.min(days, MAX_ANALYTICS_DAYS);
+        LocalDate firstDay = LocalDate.now().minusDays(window - 1L);
+
+        AnalyticsDto analytics = new AnalyticsDto();
+        analytics.setSummary(getDashboardStats());
+        analytics.setProductsByCategory(productRepository.countGroupedByCategory().stream()
+                .collect(Collectors.toMap(count -> count.getCategory().name(),
+                        ProductRepository.CategoryCount::getTotal, Long::sum, TreeMap::new)));
+        analytics.setDeliveriesByStatus(deliveryRepository.countGroupedByStatus().stream()
+                .collect(Collectors.toMap(count -> count.getStatus().name(),
+                        DeliveryRepository.StatusCount::getTotal, Long::sum, TreeMap::new)));
+        analytics.setDeliveriesByPriority(deliveryRepository.countGroupedByPriority().stream()
+                .collect(Collectors.toMap(count -> count.getPriority().name(),
+                        DeliveryRepository.PriorityCount::getTotal, Long::sum, TreeMap::new)));
+
+        Map<LocalDate, Long> deliveredPerDay = new TreeMap<>();
+        for (LocalDate day = firstDay; !day.isAfter(LocalDate.now()); day = day.plusDays(1)) {
+            deliveredPerDay.put(day, 0L);
+        }
+        for (DeliveryRepository.DayCount count : deliveryRepository.countPerDeliveryDay(
+                DeliveryStatus.DELIVERED, firstDay.atStartOfDay())) {
+            deliveredPerDay.merge(count.getDeliveredOn(), count.getTotal(), Long::sum);
+        }
+        analytics.setDeliveredPerDay(deliveredPerDay);
+        return analytics;
     }
     
     public String generateCsvTemplate() {
@@ -401,6 +567,7 @@ public class InventoryService {
 
         // Now delete the product
         productRepository.deleteById(id);
+        eventPublisher.publishEvent(new ProductChangedEvent(ProductState.of(product), null));
     }
 
     public List<String> getAllSkus() {
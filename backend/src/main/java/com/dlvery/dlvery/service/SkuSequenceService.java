@@ -0,0 +1,152 @@
+package com.dlvery.dlvery.service;
+
+import com.dlvery.dlvery.entity.SkuSequence;
+import com.dlvery.dlvery.repository.ProductRepository;
+import com.dlvery.dlvery.repository.SkuSequenceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands out per-prefix SKU numbers using a hi/lo block allocator.
+ * Each node reserves a block of numbers in the sku_sequences table with a single locked round trip
+ * and then serves it from memory, so SKU generation never scans products and never collides
+ * across threads or nodes. Numbers left in a block when the node stops are skipped, not reused.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SkuSequenceService {
+
+    private static final int MAX_ALLOCATION_ATTEMPTS = 3;
+
+    private final SkuSequenceRepository skuSequenceRepository;
+    private final ProductRepository productRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.sku.block-size:100}")
+    private int blockSize;
+
+    private final ConcurrentMap<String, AtomicReference<SkuBlock>> blocks = new ConcurrentHashMap<>();
+
+    public String nextSku(String prefix) {
+        return formatSku(prefix, nextValue(prefix));
+    }
+
+    /**
+     * Allocate count SKUs at once. Requests of at least a block get a dedicated block sized
+     * to the request, so a whole import chunk costs one round trip; smaller ones use the shared block.
+     */
+    public List<String> nextSkus(String prefix, int count) {
+        List<String> skus = new ArrayList<>(count);
+        if (count >= blockSize) {
+            long start = allocateBlock(prefix, count).next.get();
+            for (long value = start; value < start + count; value++) {
+                skus.add(formatSku(prefix, value));
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                skus.add(nextSku(prefix));
+            }
+        }
+        return skus;
+    }
+
+    private long nextValue(String prefix) {
+        AtomicReference<SkuBlock> current = blocks.computeIfAbsent(prefix,
+                key -> new AtomicReference<>(new SkuBlock(0, 0)));
+
+        while (true) {
+            SkuBlock block = current.get();
+            long value = block.next.getAndIncrement();
+            if (value < block.end) {
+                return value;
+            }
+
+            // Block exhausted - only one thread per prefix reserves the next one
+            synchronized (current) {
+                if (current.get() == block) {
+                    current.set(allocateBlock(prefix, blockSize));
+                }
+            }
+        }
+    }
+
+    private SkuBlock allocateBlock(String prefix, int size) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                long start = transactionTemplate.execute(status -> reserve(prefix, size));
+                log.debug("Reserved SKU block {} [{}, {})", prefix, start, start + size);
+                return new SkuBlock(start, start + size);
+            } catch (DataIntegrityViolationException | TransientDataAccessException e) {
+                // Lost a lock wait or deadlock to another node reserving the same prefix; the retry
+                // runs in a fresh transaction against the committed row
+                if (attempt >= MAX_ALLOCATION_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Concurrent SKU block reservation for prefix {}, retrying: {}", prefix, e.getMessage());
+            }
+        }
+    }
+
+    private long reserve(String prefix, int size) {
+        if (!skuSequenceRepository.existsById(prefix)) {
+            skuSequenceRepository.insertIfAbsent(prefix, initialValue(prefix));
+        }
+        SkuSequence sequence = skuSequenceRepository.findByPrefixForUpdate(prefix)
+                .orElseThrow(() -> new IllegalStateException("SKU sequence " + prefix + " was not created"));
+
+        long start = sequence.getNextValue();
+        sequence.setNextValue(start + size);
+        skuSequenceRepository.saveAndFlush(sequence);
+        return start;
+    }
+
+    /**
+     * Seed a new sequence from the highest SKU already stored for the prefix (one-time lookup)
+     */
+    private long initialValue(String prefix) {
+        String lastSku = productRepository.findMaxSkuByPrefix(prefix);
+        if (lastSku == null) {
+            return 1;
+        }
+
+        try {
+            return Long.parseLong(lastSku.substring(prefix.length() + 1)) + 1;
+        } catch (NumberFormatException e) {
+            log.warn("Unexpected SKU format '{}' while seeding sequence {}, starting from 1", lastSku, prefix);
+            return 1;
+        }
+    }
+
+    private String formatSku(String prefix, long number) {
+        // Format: PREFIX-XXXX (e.g., ELEC-0001, FOOD-0001)
+        return String.format("%s-%04d", prefix, number);
+    }
+
+    private static final class SkuBlock {
+        private final AtomicLong next;
+        private final long end;
+
+        private SkuBlock(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
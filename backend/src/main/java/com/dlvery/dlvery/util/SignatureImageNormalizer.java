@@ -0,0 +1,113 @@
+package com.dlvery.dlvery.util;
+
+import com.dlvery.dlvery.exception.CustomExceptions.InvalidSignatureException;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Turns an uploaded signature image into a compact grayscale PNG. Transparent areas are
+ * flattened onto white, the image is scaled down to fit the bounding box, and it is shrunk
+ * further until the encoded PNG fits the size cap. The source dimensions are checked from the
+ * image header before any pixels are decoded, so oversized images are rejected cheaply.
+ */
+public class SignatureImageNormalizer {
+
+    public static final String CONTENT_TYPE = "image/png";
+
+    // Each further attempt to meet the size cap scales the image by this factor
+    private static final double SHRINK_STEP = 0.75;
+    private static final int MIN_WIDTH = 100;
+
+    private final int maxWidth;
+    private final int maxHeight;
+    private final int maxSourceDimension;
+    private final int maxEncodedBytes;
+
+    public SignatureImageNormalizer(int maxWidth, int maxHeight, int maxSourceDimension, int maxEncodedBytes) {
+        this.maxWidth = maxWidth;
+        this.maxHeight = maxHeight;
+        this.maxSourceDimension = maxSourceDimension;
+        this.maxEncodedBytes = maxEncodedBytes;
+    }
+
+    public byte[] normalize(byte[] image) {
+        BufferedImage source = read(image);
+
+        double scale = Math.min(1.0, Math.min((double) maxWidth / source.getWidth(), (double) maxHeight / source.getHeight()));
+        while (true) {
+            int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+            int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+            byte[] png = encode(flatten(source, width, height));
+            if (png.length <= maxEncodedBytes) {
+                return png;
+            }
+            if (width <= MIN_WIDTH) {
+                throw new InvalidSignatureException("Signature image is too detailed to store");
+            }
+            scale *= SHRINK_STEP;
+        }
+    }
+
+    private BufferedImage read(byte[] image) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(image))) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new InvalidSignatureException("Signature must be a PNG or JPEG image");
+            }
+            ImageReader reader = readers.next();
+            try {
+                String format = reader.getFormatName().toLowerCase();
+                if (!format.equals("png") && !format.equals("jpeg")) {
+                    throw new InvalidSignatureException("Signature must be a PNG or JPEG image");
+                }
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if (width > maxSourceDimension || height > maxSourceDimension) {
+                    throw new InvalidSignatureException("Signature image dimensions " + width + "x" + height +
+                            " exceed the maximum of " + maxSourceDimension + " pixels");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new InvalidSignatureException("Signature image could not be read: " + e.getMessage());
+        }
+    }
+
+    private BufferedImage flatten(BufferedImage source, int width, int height) {
+        BufferedImage gray = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D graphics = gray.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return gray;
+    }
+
+    private byte[] encode(BufferedImage image) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "png", output);
+        } catch (IOException e) {
+            throw new IllegalStateException("PNG encoding failed", e);
+        }
+        return output.toByteArray();
+    }
+}
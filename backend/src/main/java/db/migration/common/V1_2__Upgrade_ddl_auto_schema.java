@@ -0,0 +1,174 @@
+package db.migration.common;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Brings a database created by ddl-auto (baselined at version 1) up to the V1 schema: adds the
+ * columns, tables and foreign key introduced since, and moves the pooled id generators past the
+ * ids the IDENTITY columns handed out. Every step checks the current schema first, so on a
+ * database created by V1 the migration changes nothing.
+ */
+public class V1_2__Upgrade_ddl_auto_schema extends BaseJavaMigration {
+
+    // Must match allocationSize of the entities' @SequenceGenerator
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final List<MissingColumn> COLUMNS = List.of(
+            new MissingColumn("deliveries", "agent_user_id", "bigint"),
+            new MissingColumn("deliveries", "has_signature", "bit not null default false")
+    );
+
+    private static final List<MissingTable> TABLES = List.of(
+            new MissingTable("signature_blobs", """
+                    create table signature_blobs (
+                        hash varchar(64) not null,
+                        content_type varchar(50) not null,
+                        size_bytes integer not null,
+                        data longblob not null,
+                        created_at datetime(6) not null,
+                        primary key (hash)
+                    ) engine=InnoDB"""),
+            new MissingTable("delivery_signatures", """
+                    create table delivery_signatures (
+                        delivery_id bigint not null,
+                        blob_hash varchar(64) not null,
+                        created_at datetime(6) not null,
+                        primary key (delivery_id)
+                    ) engine=InnoDB"""),
+            new MissingTable("import_jobs", """
+                    create table import_jobs (
+                        id bigint not null auto_increment,
+                        filename varchar(255) not null,
+                        format enum ('CSV','XLSX') not null,
+                        checksum varchar(64),
+                        status enum ('QUEUED','RUNNING','COMPLETED','FAILED','INTERRUPTED') not null,
+                        rows_processed integer not null,
+                        rows_succeeded integer not null,
+                        rows_failed integer not null,
+                        last_committed_row integer not null,
+                        created_by varchar(255),
+                        error_message varchar(1000),
+                        created_at datetime(6) not null,
+                        started_at datetime(6),
+                        finished_at datetime(6),
+                        primary key (id)
+                    ) engine=InnoDB"""),
+            new MissingTable("import_job_errors", """
+                    create table import_job_errors (
+                        id bigint not null,
+                        job_id bigint not null,
+                        row_num integer not null,
+                        message varchar(1000) not null,
+                        primary key (id)
+                    ) engine=InnoDB"""),
+            new MissingTable("sku_sequences", """
+                    create table sku_sequences (
+                        prefix varchar(10) not null,
+                        next_value bigint not null,
+                        primary key (prefix)
+                    ) engine=InnoDB""")
+    );
+
+    // Entity table -> pooled id generator created by V1_1 (a table on MySQL, a sequence elsewhere)
+    private static final List<IdGenerator> ID_GENERATORS = List.of(
+            new IdGenerator("products", "products_seq"),
+            new IdGenerator("inventory_movements", "inventory_movements_seq"),
+            new IdGenerator("deliveries", "deliveries_seq"),
+            new IdGenerator("delivery_items", "delivery_items_seq")
+    );
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (Statement statement = connection.createStatement()) {
+            for (MissingColumn column : COLUMNS) {
+                if (!columnExists(connection, metaData, column.table(), column.name())) {
+                    statement.execute("ALTER TABLE " + column.table() + " ADD COLUMN " + column.name() + " " + column.definition());
+                }
+            }
+            if (!foreignKeyExists(connection, metaData, "deliveries", "agent_user_id")) {
+                statement.execute("ALTER TABLE deliveries ADD CONSTRAINT fk_deliveries_agent_user " +
+                        "FOREIGN KEY (agent_user_id) REFERENCES users (id)");
+            }
+            for (MissingTable table : TABLES) {
+                if (!tableExists(connection, metaData, table.name())) {
+                    statement.execute(table.ddl());
+                }
+            }
+            for (IdGenerator generator : ID_GENERATORS) {
+                alignIdGenerator(connection, metaData, statement, generator);
+            }
+        }
+    }
+
+    /**
+     * The pooled optimizer hands out the block ending at the value it reads, so the generator
+     * must start one allocation past the highest existing id
+     */
+    private void alignIdGenerator(Connection connection, DatabaseMetaData metaData, Statement statement,
+                                  IdGenerator generator) throws SQLException {
+        long maxId;
+        try (ResultSet result = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + generator.table())) {
+            result.next();
+            maxId = result.getLong(1);
+        }
+        if (maxId == 0) {
+            return;
+        }
+        long start = maxId + ALLOCATION_SIZE + 1;
+        if (tableExists(connection, metaData, generator.sequence())) {
+            statement.execute("UPDATE " + generator.sequence() + " SET next_val = GREATEST(next_val, " + start + ")");
+        } else {
+            statement.execute("ALTER SEQUENCE " + generator.sequence() + " RESTART WITH " + start);
+        }
+    }
+
+    private boolean tableExists(Connection connection, DatabaseMetaData metaData, String table) throws SQLException {
+        try (ResultSet tables = metaData.getTables(connection.getCatalog(), null, identifier(metaData, table),
+                new String[]{"TABLE"})) {
+            return tables.next();
+        }
+    }
+
+    private boolean columnExists(Connection connection, DatabaseMetaData metaData, String table, String column)
+            throws SQLException {
+        try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null, identifier(metaData, table),
+                identifier(metaData, column))) {
+            return columns.next();
+        }
+    }
+
+    private boolean foreignKeyExists(Connection connection, DatabaseMetaData metaData, String table, String column)
+            throws SQLException {
+        try (ResultSet keys = metaData.getImportedKeys(connection.getCatalog(), null, identifier(metaData, table))) {
+            while (keys.next()) {
+                if (column.equalsIgnoreCase(keys.getString("FKCOLUMN_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+        return metaData.storesUpperCaseIdentifiers() ? name.toUpperCase() : name;
+    }
+
+    private record MissingColumn(String table, String name, String definition) {
+    }
+
+    private record MissingTable(String name, String ddl) {
+    }
+
+    private record IdGenerator(String table, String sequence) {
+    }
+}
@@ -0,0 +1,95 @@
+package db.migration.common;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Creates the secondary indexes behind the repository queries. Databases baselined from
+ * ddl-auto may already hold some of them under the same names, so each index is created
+ * only if missing, and indexes superseded by a composite one are dropped.
+ */
+public class V2__Create_query_indexes extends BaseJavaMigration {
+
+    private static final List<QueryIndex> INDEXES = List.of(
+            // DeliveryRepository: findByStatusAndAgent, findByDeliveryAgent, findAllDeliveryAgents and the agent backfill
+            new QueryIndex("deliveries", "idx_deliveries_agent_status_scheduled", "delivery_agent, status, scheduled_date"),
+            // findByStatusAndDateRange, countPerDeliveryDay, findByStatus, countGroupedByStatus
+            new QueryIndex("deliveries", "idx_deliveries_status_delivered_at", "status, delivered_at"),
+            // findTodaysDeliveriesByAgent, findPendingDeliveriesByAgent, findDeliveredDeliveriesByAgent
+            new QueryIndex("deliveries", "idx_deliveries_agent_user_status", "agent_user_id, status, scheduled_date"),
+            // findByDateRange and the (createdAt, id) keyset listing, alone or after an equality filter
+            new QueryIndex("deliveries", "idx_deliveries_created_at_id", "created_at, id"),
+            new QueryIndex("deliveries", "idx_deliveries_status_created_at", "status, created_at, id"),
+            new QueryIndex("deliveries", "idx_deliveries_priority_created_at", "priority, created_at, id"),
+            // Customer prefix search when tracking deliveries
+            new QueryIndex("deliveries", "idx_deliveries_customer_name", "customer_name"),
+            // existsByItemsProductId, findByProductSku and the SKU filter's EXISTS probe
+            new QueryIndex("delivery_items", "idx_delivery_items_product_delivery", "product_id, delivery_id"),
+            // InventoryMovementRepository: findByProductId, findByDateRange, findByTypeAndDateRange
+            new QueryIndex("inventory_movements", "idx_inventory_movements_product_date", "product_id, movement_date"),
+            new QueryIndex("inventory_movements", "idx_inventory_movements_date", "movement_date"),
+            new QueryIndex("inventory_movements", "idx_inventory_movements_type_date", "movement_type, movement_date"),
+            // ProductRepository: findExpiringProducts, countExpiringProducts, countPerishablesByExpiryDate
+            new QueryIndex("products", "idx_products_perishable_expiry", "is_perishable, expiry_date"),
+            // findAvailableProducts, findLowStockProducts, countAvailableProducts
+            new QueryIndex("products", "idx_products_quantity", "quantity"),
+            // countDamagedProducts, findByIsDamaged
+            new QueryIndex("products", "idx_products_damaged", "is_damaged"),
+            // findByCategory, countGroupedByCategory
+            new QueryIndex("products", "idx_products_category", "category"),
+            // UserRepository: findByRoleAndIsActive, findAllAgentIdentities, findByOauthProviderId
+            new QueryIndex("users", "idx_users_role_active", "role, is_active"),
+            new QueryIndex("users", "idx_users_oauth_provider_id", "oauth_provider_id"),
+            // ImportJobRepository: findFirstByChecksumOrderByIdDesc, markInterrupted
+            new QueryIndex("import_jobs", "idx_import_jobs_checksum", "checksum"),
+            new QueryIndex("import_jobs", "idx_import_jobs_status", "status"),
+            // ImportJobErrorRepository.streamByJobId
+            new QueryIndex("import_job_errors", "idx_import_job_errors_job", "job_id, row_num")
+    );
+
+    // Single-column indexes from the ddl-auto era, now leading columns of composites above
+    private static final List<QueryIndex> SUPERSEDED = List.of(
+            new QueryIndex("deliveries", "idx_deliveries_delivery_agent", "delivery_agent"),
+            new QueryIndex("deliveries", "idx_deliveries_agent_user", "agent_user_id")
+    );
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (Statement statement = connection.createStatement()) {
+            for (QueryIndex index : INDEXES) {
+                if (!exists(connection, metaData, index)) {
+                    statement.execute("CREATE INDEX " + index.name() + " ON " + index.table() + " (" + index.columns() + ")");
+                }
+            }
+            for (QueryIndex index : SUPERSEDED) {
+                if (exists(connection, metaData, index)) {
+                    statement.execute("DROP INDEX " + index.name() + " ON " + index.table());
+                }
+            }
+        }
+    }
+
+    private boolean exists(Connection connection, DatabaseMetaData metaData, QueryIndex index) throws SQLException {
+        String table = metaData.storesUpperCaseIdentifiers() ? index.table().toUpperCase() : index.table();
+        try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), null, table, false, true)) {
+            while (indexes.next()) {
+                if (index.name().equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private record QueryIndex(String table, String name, String columns) {
+    }
+}
@@ -0,0 +1,173 @@
+-- Baseline schema, matching what ddl-auto produced for the entity model.
+-- Secondary indexes are created by V2; sequence-backed id generators by V1_1 per vendor.
+
+create table users (
+    id bigint not null auto_increment,
+    username varchar(50) not null,
+    password_hash varchar(255),
+    email varchar(100),
+    full_name varchar(100),
+    oauth_provider enum ('LOCAL','GOOGLE') not null,
+    oauth_provider_id varchar(100),
+    role enum ('INV_TEAM','DL_TEAM') not null,
+    is_active bit not null,
+    email_verified bit not null,
+    verification_token varchar(500),
+    verification_token_expires_at datetime(6),
+    last_login_at datetime(6),
+    created_at datetime(6) not null,
+    updated_at datetime(6),
+    primary key (id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email)
+) engine=InnoDB;
+
+create table delivery_agent_profiles (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    phone_number varchar(20),
+    emergency_contact_name varchar(100),
+    emergency_contact_phone varchar(20),
+    address text,
+    city varchar(50),
+    state varchar(50),
+    postal_code varchar(10),
+    date_of_birth date,
+    license_number varchar(50),
+    license_expiry_date date,
+    vehicle_type varchar(50),
+    vehicle_number varchar(20),
+    bank_account_number varchar(50),
+    bank_name varchar(100),
+    ifsc_code varchar(20),
+    profile_picture_url varchar(500),
+    is_profile_complete bit not null,
+    display_name varchar(100),
+    is_available bit not null,
+    created_at datetime(6) not null,
+    updated_at datetime(6),
+    primary key (id),
+    constraint uk_delivery_agent_profiles_user unique (user_id)
+) engine=InnoDB;
+
+create table products (
+    id bigint not null,
+    sku varchar(255) not null,
+    name varchar(255) not null,
+    description varchar(255),
+    category enum ('ELECTRONICS','CLOTHING','FOOD_BEVERAGES','HOME_GARDEN','BOOKS','TOYS_GAMES','HEALTH_BEAUTY',
+                   'SPORTS_OUTDOORS','AUTOMOTIVE','OFFICE_SUPPLIES','PHARMACEUTICALS','FROZEN_GOODS','FRESH_PRODUCE','OTHER') not null,
+    quantity integer not null,
+    unit_price decimal(38,2) not null,
+    is_damaged bit not null,
+    is_perishable bit not null,
+    expiry_date date,
+    created_at datetime(6) not null,
+    updated_at datetime(6) not null,
+    primary key (id),
+    constraint uk_products_sku unique (sku)
+) engine=InnoDB;
+
+create table inventory_movements (
+    id bigint not null,
+    product_id bigint not null,
+    movement_type enum ('IN','OUT','ADJUSTMENT','DAMAGED','EXPIRED','DELIVERY') not null,
+    quantity integer not null,
+    reason varchar(255),
+    reference varchar(255),
+    movement_date datetime(6) not null,
+    performed_by varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table deliveries (
+    id bigint not null,
+    delivery_id varchar(255) not null,
+    delivery_agent varchar(255) not null,
+    agent_user_id bigint,
+    status enum ('PENDING','ASSIGNED','IN_TRANSIT','DELIVERED','DOOR_LOCKED','DAMAGED_IN_TRANSIT','RETURNED','CANCELLED') not null,
+    priority enum ('EMERGENCY','PERISHABLE','ESSENTIAL','STANDARD','LOW') not null,
+    created_at datetime(6) not null,
+    scheduled_date date not null,
+    assigned_at datetime(6),
+    delivered_at datetime(6),
+    customer_name varchar(255),
+    customer_address varchar(255),
+    customer_phone varchar(255),
+    has_signature bit not null,
+    notes varchar(255),
+    status_reason varchar(255),
+    primary key (id),
+    constraint uk_deliveries_delivery_id unique (delivery_id)
+) engine=InnoDB;
+
+create table delivery_items (
+    id bigint not null,
+    delivery_id bigint not null,
+    product_id bigint not null,
+    quantity integer not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table signature_blobs (
+    hash varchar(64) not null,
+    content_type varchar(50) not null,
+    size_bytes integer not null,
+    data longblob not null,
+    created_at datetime(6) not null,
+    primary key (hash)
+) engine=InnoDB;
+
+create table delivery_signatures (
+    delivery_id bigint not null,
+    blob_hash varchar(64) not null,
+    created_at datetime(6) not null,
+    primary key (delivery_id)
+) engine=InnoDB;
+
+create table import_jobs (
+    id bigint not null auto_increment,
+    filename varchar(255) not null,
+    format enum ('CSV','XLSX') not null,
+    checksum varchar(64),
+    status enum ('QUEUED','RUNNING','COMPLETED','FAILED','INTERRUPTED') not null,
+    rows_processed integer not null,
+    rows_succeeded integer not null,
+    rows_failed integer not null,
+    last_committed_row integer not null,
+    created_by varchar(255),
+    error_message varchar(1000),
+    created_at datetime(6) not null,
+    started_at datetime(6),
+    finished_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table import_job_errors (
+    id bigint not null,
+    job_id bigint not null,
+    row_num integer not null,
+    message varchar(1000) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table sku_sequences (
+    prefix varchar(10) not null,
+    next_value bigint not null,
+    primary key (prefix)
+) engine=InnoDB;
+
+alter table delivery_agent_profiles
+    add constraint fk_delivery_agent_profiles_user foreign key (user_id) references users (id);
+
+alter table inventory_movements
+    add constraint fk_inventory_movements_product foreign key (product_id) references products (id);
+
+alter table deliveries
+    add constraint fk_deliveries_agent_user foreign key (agent_user_id) references users (id);
+
+alter table delivery_items
+    add constraint fk_delivery_items_delivery foreign key (delivery_id) references deliveries (id);
+
+alter table delivery_items
+    add constraint fk_delivery_items_product foreign key (product_id) references products (id);
@@ -0,0 +1,7 @@
+-- Pooled id generators; the increment matches the entities' allocationSize
+
+create sequence products_seq start with 1 increment by 50;
+create sequence inventory_movements_seq start with 1 increment by 50;
+create sequence deliveries_seq start with 1 increment by 50;
+create sequence delivery_items_seq start with 1 increment by 50;
+create sequence import_job_errors_seq start with 1 increment by 50;
@@ -0,0 +1,16 @@
+-- MySQL has no sequences; Hibernate keeps pooled id generators in single-row tables
+
+create table products_seq (next_val bigint) engine=InnoDB;
+insert into products_seq values (1);
+
+create table inventory_movements_seq (next_val bigint) engine=InnoDB;
+insert into inventory_movements_seq values (1);
+
+create table deliveries_seq (next_val bigint) engine=InnoDB;
+insert into deliveries_seq values (1);
+
+create table delivery_items_seq (next_val bigint) engine=InnoDB;
+insert into delivery_items_seq values (1);
+
+create table import_job_errors_seq (next_val bigint) engine=InnoDB;
+insert into import_job_errors_seq values (1);
@@ -0,0 +1,72 @@
+package com.dlvery.dlvery.importer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CSV Row Reader Tests")
+class CsvRowReaderTest {
+
+    private final CsvRowReader reader = new CsvRowReader();
+
+    private List<ImportRow> read(String csv) throws IOException {
+        List<ImportRow> rows = new ArrayList<>();
+        reader.read(new StringReader(csv), rows::add);
+        return rows;
+    }
+
+    @Test
+    @DisplayName("Should split plain fields and keep empty cells")
+    void testPlainFields() throws IOException {
+        List<ImportRow> rows = read("name,description,category\nPen,,OFFICE_SUPPLIES\n");
+
+        assertEquals(2, rows.size());
+        assertArrayEquals(new String[]{"Pen", "", "OFFICE_SUPPLIES"}, rows.get(1).cells());
+        assertEquals(2, rows.get(1).rowNumber());
+    }
+
+    @Test
+    @DisplayName("Should handle quoted fields with commas, escaped quotes and line breaks")
+    void testQuotedFields() throws IOException {
+        List<ImportRow> rows = read("\"Desk, oak\",\"12\"\" wide\",\"two\nlines\"\nnext,row,here");
+
+        assertEquals(2, rows.size());
+        assertArrayEquals(new String[]{"Desk, oak", "12\" wide", "two\nlines"}, rows.get(0).cells());
+        assertEquals(1, rows.get(0).rowNumber());
+        assertEquals(3, rows.get(1).rowNumber());
+    }
+
+    @Test
+    @DisplayName("Should accept CRLF and CR endings, a BOM and skip blank rows")
+    void testLineEndingsAndBlankRows() throws IOException {
+        List<ImportRow> rows = read("\uFEFFname,qty\r\n\r\n,,\r\nPen,5\rBook,2");
+
+        assertEquals(3, rows.size());
+        assertEquals("name", rows.get(0).cell(0));
+        assertEquals(4, rows.get(1).rowNumber());
+        assertArrayEquals(new String[]{"Book", "2"}, rows.get(2).cells());
+    }
+
+    @Test
+    @DisplayName("Should read fields spanning buffer boundaries")
+    void testLargeField() throws IOException {
+        String longValue = "x".repeat(100_000);
+        List<ImportRow> rows = read("a,\"" + longValue + "\",b\n");
+
+        assertEquals(1, rows.size());
+        assertEquals(longValue, rows.get(0).cell(1));
+        assertEquals("b", rows.get(0).cell(2));
+    }
+
+    @Test
+    @DisplayName("Should reject an unterminated quoted field")
+    void testUnterminatedQuote() {
+        assertThrows(IOException.class, () -> read("a,\"never closed\n"));
+    }
+}
@@ -0,0 +1,46 @@
+package com.dlvery.dlvery.importer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Import Date Parser Tests")
+class ImportDateParserTest {
+
+    private static final LocalDate NEW_YEARS_EVE = LocalDate.of(2024, 12, 31);
+
+    @Test
+    @DisplayName("Should parse every supported format")
+    void testSupportedFormats() {
+        assertEquals(NEW_YEARS_EVE, ImportDateParser.parse("2024-12-31"));
+        assertEquals(NEW_YEARS_EVE, ImportDateParser.parse("2024/12/31"));
+        assertEquals(NEW_YEARS_EVE, ImportDateParser.parse("2024.12.31"));
+        assertEquals(NEW_YEARS_EVE, ImportDateParser.parse("31-12-2024"));
+        assertEquals(NEW_YEARS_EVE, ImportDateParser.parse("31.12.2024"));
+        assertEquals(NEW_YEARS_EVE, ImportDateParser.parse("12/31/2024"));
+        assertEquals(NEW_YEARS_EVE, ImportDateParser.parse("31/12/2024"));
+    }
+
+    @Test
+    @DisplayName("Should prefer month first for ambiguous slash dates")
+    void testAmbiguousSlashDate() {
+        assertEquals(LocalDate.of(2024, 3, 4), ImportDateParser.parse("03/04/2024"));
+    }
+
+    @Test
+    @DisplayName("Should return null for unrecognised or impossible dates")
+    void testInvalidDates() {
+        assertNull(ImportDateParser.parse(null));
+        assertNull(ImportDateParser.parse(""));
+        assertNull(ImportDateParser.parse("tomorrow"));
+        assertNull(ImportDateParser.parse("2024-12/31"));
+        assertNull(ImportDateParser.parse("2024-1a-31"));
+        assertNull(ImportDateParser.parse("2024-13-01"));
+        assertNull(ImportDateParser.parse("2023-02-29"));
+        assertNull(ImportDateParser.parse("13-31-2024"));
+        assertEquals(LocalDate.of(2024, 2, 29), ImportDateParser.parse("29.02.2024"));
+    }
+}
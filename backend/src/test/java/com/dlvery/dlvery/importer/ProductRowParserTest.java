@@ -0,0 +1,67 @@
+package com.dlvery.dlvery.importer;
+
+import com.dlvery.dlvery.dto.ProductDto;
+import com.dlvery.dlvery.entity.ProductCategory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Product Row Parser Tests")
+class ProductRowParserTest {
+
+    private final ProductRowParser parser = new ProductRowParser();
+
+    @Test
+    @DisplayName("Should parse a complete row")
+    void testParseCompleteRow() {
+        ImportRow row = new ImportRow(3, new String[]{
+                "Milk", "1L carton", "frozen goods", "12", "2.50", "false", "TRUE", "31/12/2024"});
+
+        ProductDto product = parser.parse(row);
+
+        assertEquals("Milk", product.getName());
+        assertEquals(ProductCategory.FROZEN_GOODS, product.getCategory());
+        assertEquals(12, product.getQuantity());
+        assertEquals(new BigDecimal("2.50"), product.getUnitPrice());
+        assertFalse(product.getIsDamaged());
+        assertTrue(product.getIsPerishable());
+        assertEquals(LocalDate.of(2024, 12, 31), product.getExpiryDate());
+    }
+
+    @Test
+    @DisplayName("Should default optional columns when missing")
+    void testParseWithoutOptionalColumns() {
+        ProductDto product = parser.parse(new ImportRow(2, new String[]{"Pen", "", "OFFICE_SUPPLIES", "5", "1"}));
+
+        assertFalse(product.getIsDamaged());
+        assertFalse(product.getIsPerishable());
+        assertNull(product.getExpiryDate());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid values with a specific message")
+    void testRejectInvalidValues() {
+        IllegalArgumentException category = assertThrows(IllegalArgumentException.class,
+                () -> parser.parse(new ImportRow(2, new String[]{"Pen", "", "STATIONERY", "5", "1"})));
+        assertTrue(category.getMessage().startsWith("Invalid category 'STATIONERY'"));
+
+        IllegalArgumentException quantity = assertThrows(IllegalArgumentException.class,
+                () -> parser.parse(new ImportRow(2, new String[]{"Pen", "", "BOOKS", "-1", "1"})));
+        assertEquals("Quantity cannot be negative", quantity.getMessage());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> parser.parse(new ImportRow(2, new String[]{"Pen", "", "BOOKS", "1"})));
+    }
+
+    @Test
+    @DisplayName("Should detect the header row")
+    void testIsHeader() {
+        assertTrue(parser.isHeader(new ImportRow(1, new String[]{" Name ", "description"})));
+        assertTrue(parser.isHeader(new ImportRow(1, new String[]{"SKU"})));
+        assertFalse(parser.isHeader(new ImportRow(1, new String[]{"Inventory template"})));
+    }
+}
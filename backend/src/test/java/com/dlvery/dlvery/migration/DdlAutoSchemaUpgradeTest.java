@@ -0,0 +1,84 @@
+package com.dlvery.dlvery.migration;
+
+import com.dlvery.dlvery.entity.Delivery;
+import com.dlvery.dlvery.entity.Product;
+import com.dlvery.dlvery.entity.ProductCategory;
+import com.dlvery.dlvery.repository.DeliveryRepository;
+import com.dlvery.dlvery.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts from the schema ddl-auto created before the migrations existed and lets the
+ * application's Flyway configuration baseline and upgrade it; the context only starts if
+ * the upgraded schema validates against the entities.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:ddlautodb;MODE=MySQL;DATABASE_TO_LOWER=TRUE")
+@ActiveProfiles("test")
+@DisplayName("DDL-Auto Schema Upgrade Tests")
+class DdlAutoSchemaUpgradeTest {
+
+    @TestConfiguration
+    static class DdlAutoSchema {
+
+        @Bean
+        FlywayMigrationStrategy createDdlAutoSchemaFirst() {
+            return flyway -> {
+                new ResourceDatabasePopulator(new ClassPathResource("db/ddl-auto-schema.sql"))
+                        .execute(flyway.getConfiguration().getDataSource());
+                flyway.migrate();
+            };
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DeliveryRepository deliveryRepository;
+
+    @Test
+    @DisplayName("Should baseline the ddl-auto schema and apply every later migration")
+    void testMigrationsApplied() {
+        List<String> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM flyway_schema_history WHERE version IS NOT NULL AND success ORDER BY installed_rank", String.class);
+
+        assertEquals(List.of("1", "1.1", "1.2", "2"), versions);
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.indexes WHERE index_name = 'idx_deliveries_agent_user_status'",
+                Integer.class));
+    }
+
+    @Test
+    @DisplayName("Should keep existing rows and generate ids past the IDENTITY ones")
+    void testExistingRowsKept() {
+        Delivery legacy = deliveryRepository.findById(45L).orElseThrow();
+        assertEquals("DLV-LEGACY", legacy.getDeliveryId());
+
+        Product product = new Product();
+        product.setSku("OTH-UPGRADED");
+        product.setName("Upgraded Product");
+        product.setCategory(ProductCategory.OTHER);
+        product.setQuantity(1);
+        product.setUnitPrice(BigDecimal.ONE);
+
+        assertTrue(productRepository.save(product).getId() > 120L);
+    }
+}
@@ -0,0 +1,253 @@
+package com.dlvery.dlvery.repository;
+
+import com.dlvery.dlvery.dto.CursorPageDto;
+import com.dlvery.dlvery.dto.DeliveryDto;
+import com.dlvery.dlvery.entity.Delivery;
+import com.dlvery.dlvery.entity.DeliveryItem;
+import com.dlvery.dlvery.entity.DeliveryStatus;
+import com.dlvery.dlvery.entity.AuthProvider;
+import com.dlvery.dlvery.entity.Product;
+import com.dlvery.dlvery.entity.ProductCategory;
+import com.dlvery.dlvery.entity.User;
+import com.dlvery.dlvery.entity.UserRole;
+import com.dlvery.dlvery.service.AgentDirectoryService;
+import com.dlvery.dlvery.service.DeliveryService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@DisplayName("Delivery Repository Fetch Plan Tests")
+class DeliveryRepositoryFetchTest {
+
+    private static final int DELIVERIES = 20;
+    private static final int ITEMS_PER_DELIVERY = 3;
+
+    @Autowired
+    private DeliveryRepository deliveryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DeliveryService deliveryService;
+
+    @Autowired
+    private AgentDirectoryService agentDirectoryService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<Product> products = new ArrayList<>();
+            for (int i = 1; i <= ITEMS_PER_DELIVERY; i++) {
+                products.add(newProduct(i));
+            }
+            productRepository.saveAll(products);
+
+            List<Delivery> deliveries = new ArrayList<>();
+            for (int i = 1; i <= DELIVERIES; i++) {
+                deliveries.add(newDelivery(i, products));
+            }
+            deliveryRepository.saveAll(deliveries);
+        });
+        // Load the agent display name cache so it does not count against the listings
+        deliveryService.getAllDeliveries();
+    }
+
+    @AfterEach
+    void tearDown() {
+        deliveryRepository.deleteAll();
+        productRepository.deleteAllInBatch();
+        userRepository.findByUsername("keyset.agent").ifPresent(userRepository::delete);
+        userRepository.findByUsername("other.agent").ifPresent(userRepository::delete);
+        agentDirectoryService.invalidate();
+    }
+
+    @Test
+    @DisplayName("Should list deliveries with items and products in one query")
+    void testListingsUseConstantQueries() {
+        LocalDateTime from = LocalDateTime.now().minusDays(1);
+        LocalDateTime to = LocalDateTime.now().plusDays(1);
+
+        assertListedWithOneQuery(DELIVERIES, () -> deliveryService.getAllDeliveries());
+        assertListedWithOneQuery(DELIVERIES, () -> deliveryService.getDeliveriesByDateRange(from, to));
+        assertListedWithOneQuery(DELIVERIES, () -> deliveryService.getDeliveriesByAgent("Test Agent"));
+        assertListedWithOneQuery(DELIVERIES / 2, () -> deliveryService.getDamagedDeliveries());
+        assertListedWithOneQuery(DELIVERIES / 2, () -> deliveryService.getDeliveredDeliveriesByDateRange(from, to));
+    }
+
+    @Test
+    @DisplayName("Should load a tracking page with a fixed number of queries")
+    void testTrackingPageUsesConstantQueries() {
+        statistics.clear();
+
+        List<DeliveryDto> page = deliveryService.trackDeliveries(null, null, null, null, null, null, 10).getItems();
+
+        assertEquals(10, page.size());
+        assertTrue(page.stream().allMatch(delivery -> delivery.getItems().size() == ITEMS_PER_DELIVERY));
+        // The limited page query plus one query for the page's items and products
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should page through filtered deliveries newest first without repeats")
+    void testKeysetPagination() {
+        List<DeliveryDto> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            statistics.clear();
+            CursorPageDto<DeliveryDto> page = deliveryService.getDeliveriesPage(
+                    DeliveryStatus.DELIVERED, null, null, null, null, "FETCH-0001", cursor, 3);
+            assertTrue(page.getItems().size() <= 3);
+            assertEquals(2, statistics.getPrepareStatementCount());
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(DELIVERIES / 2, seen.size());
+        assertEquals(DELIVERIES / 2, seen.stream().map(DeliveryDto::getId).distinct().count());
+        for (int i = 1; i < seen.size(); i++) {
+            DeliveryDto previous = seen.get(i - 1);
+            DeliveryDto current = seen.get(i);
+            assertTrue(previous.getCreatedAt().isAfter(current.getCreatedAt())
+                    || previous.getCreatedAt().equals(current.getCreatedAt()) && previous.getId() > current.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Should page through agent, status and SKU filters matching names only on unlinked rows")
+    void testKeysetPaginationWithAgentFilter() {
+        User keysetAgent = userRepository.save(newAgent("keyset.agent", "Keyset Agent"));
+        User otherAgent = userRepository.save(newAgent("other.agent", "Other Agent"));
+        agentDirectoryService.invalidate();
+        List<Delivery> deliveries = deliveryRepository.findAll(Sort.by("id"));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (int i = 0; i < deliveries.size(); i++) {
+                Delivery delivery = deliveries.get(i);
+                if (i < 8) {
+                    // Linked to the searched agent under a stale stored name
+                    delivery.setAgentUser(keysetAgent);
+                    delivery.setDeliveryAgent("Renamed Agent");
+                } else if (i < 12) {
+                    // Linked to another agent; the stored name alone must not match
+                    delivery.setAgentUser(otherAgent);
+                    delivery.setDeliveryAgent("Keyset Agent");
+                } else if (i < 16) {
+                    // Not linked yet; found through the stored name
+                    delivery.setDeliveryAgent("Keyset Agent");
+                }
+            }
+            deliveryRepository.saveAll(deliveries);
+        });
+
+        List<DeliveryDto> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDto<DeliveryDto> page = deliveryService.getDeliveriesPage(
+                    DeliveryStatus.DELIVERED, null, "Keyset", null, null, "FETCH-0002", cursor, 2);
+            assertTrue(page.getItems().size() <= 2);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Every other delivery is DELIVERED: four linked to the agent and two unlinked by name
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            if (i % 2 == 0 && (i < 8 || i >= 12)) {
+                expected.add(deliveries.get(i).getId());
+            }
+        }
+        assertEquals(expected.size(), seen.size());
+        assertEquals(new HashSet<>(expected), seen.stream().map(DeliveryDto::getId).collect(Collectors.toSet()));
+    }
+
+    private void assertListedWithOneQuery(int expectedDeliveries, Supplier<List<DeliveryDto>> listing) {
+        statistics.clear();
+
+        List<DeliveryDto> deliveries = listing.get();
+
+        assertEquals(expectedDeliveries, deliveries.size());
+        assertTrue(deliveries.stream().allMatch(delivery -> delivery.getItems().size() == ITEMS_PER_DELIVERY));
+        assertTrue(deliveries.stream().flatMap(delivery -> delivery.getItems().stream())
+                .allMatch(item -> item.getProductSku() != null));
+        assertEquals(1, statistics.getPrepareStatementCount(),
+                "Expected a single query for " + expectedDeliveries + " deliveries");
+    }
+
+    private User newAgent(String username, String fullName) {
+        User user = new User();
+        user.setUsername(username);
+        user.setFullName(fullName);
+        user.setOauthProvider(AuthProvider.LOCAL);
+        user.setRole(UserRole.DL_TEAM);
+        user.setIsActive(true);
+        user.setEmailVerified(true);
+        return user;
+    }
+
+    private Product newProduct(int index) {
+        Product product = new Product();
+        product.setSku(String.format("FETCH-%04d", index));
+        product.setName("Fetch Product " + index);
+        product.setCategory(ProductCategory.OTHER);
+        product.setQuantity(100);
+        product.setUnitPrice(BigDecimal.TEN);
+        return product;
+    }
+
+    private Delivery newDelivery(int index, List<Product> products) {
+        Delivery delivery = new Delivery();
+        delivery.setDeliveryId(String.format("DLV-FETCH%03d", index));
+        delivery.setDeliveryAgent("Test Agent");
+        delivery.setCustomerName("Customer " + index);
+        if (index % 2 == 0) {
+            delivery.setStatus(DeliveryStatus.DAMAGED_IN_TRANSIT);
+        } else {
+            delivery.setStatus(DeliveryStatus.DELIVERED);
+            delivery.setDeliveredAt(LocalDateTime.now());
+        }
+        List<DeliveryItem> items = new ArrayList<>();
+        for (Product product : products) {
+            DeliveryItem item = new DeliveryItem();
+            item.setDelivery(delivery);
+            item.setProduct(product);
+            item.setQuantity(1);
+            items.add(item);
+        }
+        delivery.setItems(items);
+        return delivery;
+    }
+}
@@ -0,0 +1,76 @@
+package com.dlvery.dlvery.repository;
+
+import com.dlvery.dlvery.entity.Product;
+import com.dlvery.dlvery.entity.ProductCategory;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@DisplayName("Product Repository Batching Tests")
+class ProductRepositoryBatchingTest {
+
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should insert products in JDBC batches")
+    void testInsertsAreBatched() {
+        int count = 200;
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<Product> products = new ArrayList<>();
+            for (int i = 1; i <= count; i++) {
+                products.add(newProduct(i));
+            }
+            productRepository.saveAll(products);
+        });
+
+        // count / BATCH_SIZE insert batches plus about one sequence call per id block,
+        // instead of one statement per row
+        long expectedStatements = 3L * count / BATCH_SIZE;
+        assertEquals(count, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= expectedStatements,
+                "Expected at most " + expectedStatements + " statements but got " + statistics.getPrepareStatementCount());
+    }
+
+    private Product newProduct(int index) {
+        Product product = new Product();
+        product.setSku(String.format("TEST-%04d", index));
+        product.setName("Test Product " + index);
+        product.setCategory(ProductCategory.OTHER);
+        product.setQuantity(10);
+        product.setUnitPrice(BigDecimal.TEN);
+        return product;
+    }
+}
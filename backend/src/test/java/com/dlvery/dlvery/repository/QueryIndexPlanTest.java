@@ -0,0 +1,149 @@
+package com.dlvery.dlvery.repository;
+
+import com.dlvery.dlvery.entity.DeliveryStatus;
+import com.dlvery.dlvery.entity.ImportJobStatus;
+import com.dlvery.dlvery.entity.MovementType;
+import com.dlvery.dlvery.entity.UserRole;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Query Index Plan Tests")
+class QueryIndexPlanTest {
+
+    private static final String FROM = "TIMESTAMP '2024-01-01 00:00:00'";
+    private static final String TO = "TIMESTAMP '2024-12-31 23:59:59'";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DeliveryRepository deliveryRepository;
+
+    @Autowired
+    private InventoryMovementRepository movementRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private ImportJobErrorRepository importJobErrorRepository;
+
+    @Autowired
+    private SignatureBlobRepository signatureBlobRepository;
+
+    @Test
+    @DisplayName("Should plan delivery queries on their composite indexes")
+    void testDeliveryQueryPlans() {
+        assertPlanUses("idx_deliveries_agent_status_scheduled",
+                "SELECT * FROM deliveries WHERE status = 'PENDING' AND delivery_agent = 'Agent'");
+        assertPlanUses("idx_deliveries_agent_status_scheduled",
+                "SELECT id, delivery_agent FROM deliveries WHERE delivery_agent IN ('agent1', 'agent2') AND id > 0 ORDER BY id");
+        assertPlanUses("idx_deliveries_status_delivered_at",
+                "SELECT * FROM deliveries WHERE status = 'DELIVERED' AND delivered_at BETWEEN " + FROM + " AND " + TO);
+        assertPlanUses("idx_deliveries_agent_user_status",
+                "SELECT * FROM deliveries WHERE agent_user_id = 1 AND status = 'ASSIGNED' AND scheduled_date <= CURRENT_DATE");
+        assertPlanUses("idx_deliveries_created_at_id",
+                "SELECT * FROM deliveries WHERE created_at BETWEEN " + FROM + " AND " + TO);
+        assertPlanUses("idx_delivery_items_product_delivery",
+                "SELECT id FROM delivery_items WHERE product_id = 1 AND delivery_id = 2");
+    }
+
+    @Test
+    @DisplayName("Should plan inventory, product, user and import queries on their indexes")
+    void testOtherQueryPlans() {
+        assertPlanUses("idx_inventory_movements_product_date",
+                "SELECT * FROM inventory_movements WHERE product_id = 1 AND movement_date >= " + FROM);
+        assertPlanUses("idx_inventory_movements_date",
+                "SELECT * FROM inventory_movements WHERE movement_date BETWEEN " + FROM + " AND " + TO);
+        assertPlanUses("idx_inventory_movements_type_date",
+                "SELECT * FROM inventory_movements WHERE movement_type = 'IN' AND movement_date BETWEEN " + FROM + " AND " + TO);
+        assertPlanUses("idx_products_perishable_expiry",
+                "SELECT * FROM products WHERE is_perishable = TRUE AND expiry_date <= DATE '2024-12-31'");
+        assertPlanUses("idx_users_role_active",
+                "SELECT * FROM users WHERE role = 'DL_TEAM' AND is_active = TRUE");
+        assertPlanUses("idx_import_jobs_checksum",
+                "SELECT * FROM import_jobs WHERE checksum = 'abc'");
+        assertPlanUses("idx_import_job_errors_job",
+                "SELECT * FROM import_job_errors WHERE job_id = 1 ORDER BY row_num");
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("Should run every repository query against the migrated schema")
+    void testRepositoryQueriesRun() {
+        LocalDateTime from = LocalDateTime.now().minusDays(30);
+        LocalDateTime to = LocalDateTime.now();
+
+        assertDoesNotThrow(() -> {
+            deliveryRepository.countGroupedByStatus();
+            deliveryRepository.countGroupedByPriority();
+            deliveryRepository.countPerDeliveryDay(DeliveryStatus.DELIVERED, from);
+            deliveryRepository.findByDateRange(from, to);
+            deliveryRepository.findByStatusAndAgent(DeliveryStatus.PENDING, "Agent");
+            deliveryRepository.findByProductSku("SKU-1");
+            deliveryRepository.existsByItemsProductId(1L);
+            deliveryRepository.findByStatusAndDateRange(DeliveryStatus.DELIVERED, from, to);
+            deliveryRepository.findAllDeliveryAgents();
+            deliveryRepository.findTodaysDeliveriesByAgent(1L, List.of("agent"));
+            deliveryRepository.findPendingDeliveriesByAgent(1L, List.of("agent"));
+            deliveryRepository.findDeliveredDeliveriesByAgent(1L, List.of("agent"));
+            deliveryRepository.findByAgentNamesAfter(List.of("agent"), 0L, Limit.of(500));
+            deliveryRepository.findUnlinkedByAgentNamesAfter(List.of("agent"), 0L, Limit.of(500));
+            deliveryRepository.countByAgentUserIsNull();
+            movementRepository.findByProductId(1L);
+            movementRepository.findByDateRange(from, to);
+            movementRepository.findByTypeAndDateRange(MovementType.IN, from, to);
+            productRepository.findExpiringProducts(LocalDate.now());
+            productRepository.countExpiringProducts(LocalDate.now());
+            productRepository.countPerishablesByExpiryDate();
+            productRepository.findAvailableProducts();
+            productRepository.findLowStockProducts(10);
+            productRepository.countDamagedProducts();
+            productRepository.countGroupedByCategory();
+            productRepository.findMaxSkuByPrefix("ELE");
+            productRepository.findQuantitiesByIdIn(List.of(1L));
+            try (var products = productRepository.streamAllOrderById(500)) {
+                products.count();
+            }
+            userRepository.findByUsernameOrEmail("agent");
+            userRepository.findByRoleAndIsActive(UserRole.DL_TEAM, true);
+            userRepository.findAllAgentIdentities(UserRole.DL_TEAM);
+            importJobRepository.findFirstByChecksumOrderByIdDesc("abc");
+            importJobRepository.markInterrupted(List.of(ImportJobStatus.RUNNING), ImportJobStatus.INTERRUPTED, to);
+            try (var errors = importJobErrorRepository.streamByJobId(1L)) {
+                errors.count();
+            }
+        });
+
+        byte[] data = {1, 2, 3};
+        signatureBlobRepository.insertIfAbsent("abc", "image/png", data.length, data, to);
+        signatureBlobRepository.insertIfAbsent("abc", "image/png", data.length, data, to);
+        assertEquals(1, signatureBlobRepository.count());
+    }
+
+    private void assertPlanUses(String index, String sql) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+        assertNotNull(plan);
+        assertTrue(plan.toLowerCase().contains(index), "Expected " + index + " in plan: " + plan);
+    }
+}
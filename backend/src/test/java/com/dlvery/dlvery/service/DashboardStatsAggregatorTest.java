@@ -0,0 +1,103 @@
+package com.dlvery.dlvery.service;
+
+import com.dlvery.dlvery.dto.DashboardStatsDto;
+import com.dlvery.dlvery.entity.DeliveryStatus;
+import com.dlvery.dlvery.entity.ProductCategory;
+import com.dlvery.dlvery.event.DeliveryStatusChangedEvent;
+import com.dlvery.dlvery.event.ProductChangedEvent;
+import com.dlvery.dlvery.event.ProductChangedEvent.ProductState;
+import com.dlvery.dlvery.event.StockChangedEvent;
+import com.dlvery.dlvery.repository.DeliveryRepository;
+import com.dlvery.dlvery.repository.ProductRepository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Dashboard Stats Aggregator Tests")
+class DashboardStatsAggregatorTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private DeliveryRepository deliveryRepository;
+
+    @InjectMocks
+    private DashboardStatsAggregator aggregator;
+
+    @Test
+    @DisplayName("Should apply product and delivery deltas without querying again")
+    void shouldApplyDeltas() {
+        when(productRepository.countGroupedByCategory()).thenReturn(List.of());
+        when(productRepository.countPerishablesByExpiryDate()).thenReturn(List.of());
+        when(deliveryRepository.countGroupedByStatus()).thenReturn(List.of());
+
+        aggregator.getStats();
+
+        ProductState fresh = new ProductState(ProductCategory.FROZEN_GOODS, true, false, LocalDate.now().plusDays(2));
+        ProductState damaged = new ProductState(ProductCategory.FROZEN_GOODS, true, true, LocalDate.now().plusDays(30));
+        aggregator.onProductChanged(new ProductChangedEvent(null, fresh));
+        aggregator.onProductChanged(new ProductChangedEvent(null, damaged));
+        aggregator.onProductChanged(new ProductChangedEvent(damaged, null));
+        aggregator.onDeliveryStatusChanged(new DeliveryStatusChangedEvent(null, DeliveryStatus.PENDING));
+        aggregator.onDeliveryStatusChanged(new DeliveryStatusChangedEvent(null, DeliveryStatus.PENDING));
+        aggregator.onDeliveryStatusChanged(new DeliveryStatusChangedEvent(DeliveryStatus.PENDING, DeliveryStatus.DELIVERED));
+
+        DashboardStatsDto stats = aggregator.getStats();
+
+        assertEquals(1L, stats.getTotalProducts());
+        assertEquals(1L, stats.getAvailableProducts());
+        assertEquals(0L, stats.getDamagedProducts());
+        assertEquals(1L, stats.getExpiringProducts());
+        assertEquals(1L, stats.getPendingDeliveries());
+        assertEquals(1L, stats.getCompletedDeliveries());
+        assertEquals(1L, stats.getProductsByCategory().get("FROZEN_GOODS"));
+        verify(productRepository, times(1)).count();
+    }
+
+    @Test
+    @DisplayName("Should apply availability changes from stock movements without recounting")
+    void shouldApplyAvailabilityDeltas() {
+        when(productRepository.countGroupedByCategory()).thenReturn(List.of());
+        when(productRepository.countPerishablesByExpiryDate()).thenReturn(List.of());
+        when(deliveryRepository.countGroupedByStatus()).thenReturn(List.of());
+        when(productRepository.countAvailableProducts()).thenReturn(5L);
+
+        assertEquals(5L, aggregator.getStats().getAvailableProducts());
+
+        aggregator.onStockChanged(new StockChangedEvent(List.of(1L, 2L), -2));
+        aggregator.onStockChanged(new StockChangedEvent(List.of(3L), 1));
+        aggregator.onStockChanged(new StockChangedEvent(List.of(4L), 0));
+
+        assertEquals(4L, aggregator.getStats().getAvailableProducts());
+        verify(productRepository, times(1)).countAvailableProducts();
+    }
+
+    @Test
+    @DisplayName("Should keep deltas committed while a reconciliation loads")
+    void shouldReplayDeltasDuringReconcile() {
+        when(productRepository.countGroupedByCategory()).thenReturn(List.of());
+        when(productRepository.countPerishablesByExpiryDate()).thenReturn(List.of());
+        when(deliveryRepository.countGroupedByStatus()).thenReturn(List.of());
+        when(productRepository.count()).thenReturn(0L).thenAnswer(invocation -> {
+            aggregator.onDeliveryStatusChanged(new DeliveryStatusChangedEvent(null, DeliveryStatus.PENDING));
+            return 0L;
+        });
+
+        aggregator.getStats();
+        aggregator.reconcile();
+
+        assertEquals(1L, aggregator.getStats().getPendingDeliveries());
+    }
+}
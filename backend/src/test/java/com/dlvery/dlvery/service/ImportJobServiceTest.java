@@ -0,0 +1,186 @@
+package com.dlvery.dlvery.service;
+
+import com.dlvery.dlvery.dto.ImportJobDto;
+import com.dlvery.dlvery.entity.ImportJobError;
+import com.dlvery.dlvery.entity.ImportJobStatus;
+import com.dlvery.dlvery.entity.Product;
+import com.dlvery.dlvery.repository.ImportJobErrorRepository;
+import com.dlvery.dlvery.repository.ImportJobRepository;
+import com.dlvery.dlvery.repository.InventoryMovementRepository;
+import com.dlvery.dlvery.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = "app.import.chunk-size=4")
+@ActiveProfiles("test")
+@DisplayName("Import Job Service Tests")
+class ImportJobServiceTest {
+
+    @Autowired
+    private ImportJobService importJobService;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private ImportJobErrorRepository importJobErrorRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private InventoryMovementRepository movementRepository;
+
+    @MockitoSpyBean
+    private InventoryService inventoryService;
+
+    @AfterEach
+    void tearDown() {
+        importJobErrorRepository.deleteAllInBatch();
+        importJobRepository.deleteAllInBatch();
+        movementRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+    }
+
+    /**
+     * Ten data rows (file rows 2-11) named prefix 1-10; rows 3 and 8 have an invalid category
+     */
+    private MockMultipartFile csv(String prefix) {
+        String rows = IntStream.rangeClosed(1, 10)
+                .mapToObj(i -> prefix + " " + i + ",," + (i == 2 || i == 7 ? "STATIONERY" : "BOOKS") + ",5,1.50")
+                .collect(Collectors.joining("\n"));
+        String content = "name,description,category,quantity,unitPrice\n" + rows + "\n";
+        return new MockMultipartFile("file", prefix + ".csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ImportJobDto awaitFinished(Long jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            ImportJobDto job = importJobService.getJob(jobId);
+            if (job.getStatus() == ImportJobStatus.COMPLETED || job.getStatus() == ImportJobStatus.FAILED) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        fail("Import job " + jobId + " did not finish");
+        return null;
+    }
+
+    private List<String> productNames(String prefix) {
+        return productRepository.findAll().stream()
+                .map(Product::getName)
+                .filter(name -> name.startsWith(prefix + " "))
+                .sorted(Comparator.comparingInt(name -> Integer.parseInt(name.substring(prefix.length() + 1))))
+                .toList();
+    }
+
+    private List<Integer> errorRows(Long jobId) {
+        return importJobErrorRepository.findAll().stream()
+                .filter(error -> error.getJobId().equals(jobId))
+                .map(ImportJobError::getRowNumber)
+                .sorted()
+                .toList();
+    }
+
+    private void assertImportedExactlyOnce(String prefix, ImportJobDto job) {
+        assertEquals(ImportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(List.of(prefix + " 1", prefix + " 3", prefix + " 4", prefix + " 5", prefix + " 6",
+                prefix + " 8", prefix + " 9", prefix + " 10"), productNames(prefix));
+        assertEquals(List.of(3, 8), errorRows(job.getId()));
+        assertEquals(10, job.getRowsProcessed());
+        assertEquals(8, job.getRowsSucceeded());
+        assertEquals(2, job.getRowsFailed());
+        assertEquals(11, job.getLastCommittedRow());
+    }
+
+    @Test
+    @DisplayName("Should return the existing job for an identical re-upload")
+    void testIdenticalUploadReturnsExistingJob() throws InterruptedException {
+        ImportJobDto first = awaitFinished(importJobService.submit(csv("Repeat"), "admin").getId());
+
+        ImportJobDto second = importJobService.submit(csv("Repeat"), "admin");
+
+        assertEquals(first.getId(), second.getId());
+        assertEquals(ImportJobStatus.COMPLETED, second.getStatus());
+        assertEquals(1, importJobRepository.count());
+        assertImportedExactlyOnce("Repeat", first);
+    }
+
+    @Test
+    @DisplayName("Should resume an interrupted import after its last committed chunk")
+    void testResumeInterruptedImport() throws InterruptedException {
+        // The worker dies writing the second chunk (rows 6-9), as if the server stopped
+        AtomicInteger chunks = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (chunks.incrementAndGet() == 2) {
+                throw new Error("Worker stopped");
+            }
+            return invocation.callRealMethod();
+        }).when(inventoryService).createProducts(anyList());
+
+        Long jobId = importJobService.submit(csv("Resume"), "admin").getId();
+        verify(inventoryService, timeout(10_000).times(2)).createProducts(anyList());
+
+        ImportJobDto stopped = importJobService.getJob(jobId);
+        assertEquals(ImportJobStatus.RUNNING, stopped.getStatus());
+        assertEquals(5, stopped.getLastCommittedRow());
+        assertEquals(List.of("Resume 1", "Resume 3", "Resume 4"), productNames("Resume"));
+        assertEquals(List.of(3), errorRows(jobId));
+
+        importJobService.markInterruptedJobs();
+        assertEquals(ImportJobStatus.INTERRUPTED, importJobService.getJob(jobId).getStatus());
+
+        ImportJobDto resumed = importJobService.submit(csv("Resume"), "admin");
+        assertEquals(jobId, resumed.getId());
+        assertEquals(5, resumed.getLastCommittedRow());
+
+        assertImportedExactlyOnce("Resume", awaitFinished(jobId));
+        assertEquals(1, importJobRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should roll the counters back with a chunk that fails to commit")
+    void testFailedChunkRollsBackCounters() throws InterruptedException {
+        // The second chunk's rows are reported and checkpointed, then its commit fails;
+        // the row-by-row retry reports them again
+        AtomicInteger chunks = new AtomicInteger();
+        doAnswer(invocation -> {
+            Object products = invocation.callRealMethod();
+            if (chunks.incrementAndGet() == 2) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void beforeCommit(boolean readOnly) {
+                        throw new CannotAcquireLockException("Deadlock found when trying to get lock");
+                    }
+                });
+            }
+            return products;
+        }).when(inventoryService).createProducts(anyList());
+
+        ImportJobDto job = awaitFinished(importJobService.submit(csv("Rollback"), "admin").getId());
+
+        assertImportedExactlyOnce("Rollback", job);
+    }
+}
@@ -0,0 +1,137 @@
+package com.dlvery.dlvery.service;
+
+import com.dlvery.dlvery.entity.Product;
+import com.dlvery.dlvery.entity.ProductCategory;
+import com.dlvery.dlvery.repository.ProductRepository;
+import com.dlvery.dlvery.repository.SkuSequenceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "app.sku.block-size=10")
+@ActiveProfiles("test")
+@DisplayName("SKU Sequence Service Tests")
+class SkuSequenceServiceTest {
+
+    private static final List<String> PREFIXES = List.of("HANDOFF", "DEDICATED", "SEEDED", "CONCURRENT");
+
+    @Autowired
+    private SkuSequenceService skuSequenceService;
+
+    @Autowired
+    private SkuSequenceRepository skuSequenceRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        skuSequenceRepository.deleteAllById(PREFIXES);
+        productRepository.findBySku("SEEDED-0042").ifPresent(productRepository::delete);
+    }
+
+    @Test
+    @DisplayName("Should continue numbering across block boundaries")
+    void testBlockHandoff() {
+        List<String> skus = IntStream.range(0, 25).mapToObj(i -> skuSequenceService.nextSku("HANDOFF")).toList();
+
+        assertEquals(IntStream.rangeClosed(1, 25).mapToObj(i -> String.format("HANDOFF-%04d", i)).toList(), skus);
+        assertEquals(31L, skuSequenceRepository.findById("HANDOFF").orElseThrow().getNextValue());
+    }
+
+    @Test
+    @DisplayName("Should give requests of at least a block their own block")
+    void testDedicatedBlock() {
+        String first = skuSequenceService.nextSku("DEDICATED");
+        List<String> dedicated = skuSequenceService.nextSkus("DEDICATED", 15);
+
+        assertEquals("DEDICATED-0001", first);
+        assertEquals(IntStream.rangeClosed(11, 25).mapToObj(i -> String.format("DEDICATED-%04d", i)).toList(), dedicated);
+        // The shared block is still being served
+        assertEquals("DEDICATED-0002", skuSequenceService.nextSku("DEDICATED"));
+        assertEquals(26L, skuSequenceRepository.findById("DEDICATED").orElseThrow().getNextValue());
+    }
+
+    @Test
+    @DisplayName("Should seed a new sequence after the highest stored SKU")
+    void testSeedFromExistingProducts() {
+        Product product = new Product();
+        product.setSku("SEEDED-0042");
+        product.setName("Seeded Product");
+        product.setCategory(ProductCategory.OTHER);
+        product.setQuantity(1);
+        product.setUnitPrice(BigDecimal.ONE);
+        productRepository.save(product);
+
+        assertEquals("SEEDED-0043", skuSequenceService.nextSku("SEEDED"));
+    }
+
+    @Test
+    @DisplayName("Should never hand out the same SKU to concurrent callers on two nodes")
+    void testConcurrentAllocationIsUnique() throws Exception {
+        // A second instance shares the database but not the in-memory blocks, like another node
+        SkuSequenceService otherNode = new SkuSequenceService(skuSequenceRepository, productRepository, transactionManager);
+        ReflectionTestUtils.setField(otherNode, "blockSize", 10);
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<List<String>>> tasks = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            SkuSequenceService node = thread % 4 < 2 ? skuSequenceService : otherNode;
+            tasks.add(() -> {
+                start.await();
+                List<String> skus = new ArrayList<>();
+                for (int i = 0; i < 20; i++) {
+                    skus.add(node.nextSku("CONCURRENT"));
+                }
+                // Mix in dedicated and shared multi-SKU requests
+                skus.addAll(node.nextSkus("CONCURRENT", thread % 2 == 0 ? 12 : 3));
+                return skus;
+            });
+        }
+
+        List<Future<List<String>>> results;
+        try {
+            results = tasks.stream().map(executor::submit).toList();
+            start.countDown();
+            Set<String> unique = new HashSet<>();
+            int issued = 0;
+            for (Future<List<String>> result : results) {
+                List<String> skus = result.get();
+                issued += skus.size();
+                unique.addAll(skus);
+            }
+
+            assertEquals(threads * 20 + threads / 2 * 12 + threads / 2 * 3, issued);
+            assertEquals(issued, unique.size());
+            long highest = unique.stream().mapToLong(sku -> Long.parseLong(sku.substring("CONCURRENT-".length()))).max().orElseThrow();
+            assertTrue(skuSequenceRepository.findById("CONCURRENT").orElseThrow().getNextValue() > highest);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
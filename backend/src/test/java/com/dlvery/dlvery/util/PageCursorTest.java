@@ -0,0 +1,47 @@
+package com.dlvery.dlvery.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Page Cursor Tests")
+class PageCursorTest {
+
+    @Test
+    @DisplayName("Should round-trip a single numeric key")
+    void testRoundTripLong() {
+        String cursor = PageCursor.encode(12345L);
+
+        assertEquals(12345L, PageCursor.decodeLong(cursor));
+    }
+
+    @Test
+    @DisplayName("Should round-trip composite keys")
+    void testRoundTripCompositeKeys() {
+        String cursor = PageCursor.encode("2024-12-31T10:15:30", 42L);
+
+        String[] keys = PageCursor.decode(cursor, 2);
+
+        assertEquals("2024-12-31T10:15:30", keys[0]);
+        assertEquals("42", keys[1]);
+    }
+
+    @Test
+    @DisplayName("Should produce URL-safe tokens")
+    void testUrlSafe() {
+        String cursor = PageCursor.encode("??>>~~", 1L);
+
+        assertFalse(cursor.contains("+"));
+        assertFalse(cursor.contains("/"));
+        assertFalse(cursor.contains("="));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed cursors")
+    void testMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decodeLong("not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decodeLong(PageCursor.encode("abc")));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(PageCursor.encode(1L), 2));
+    }
+}
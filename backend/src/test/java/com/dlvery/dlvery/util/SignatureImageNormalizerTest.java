@@ -0,0 +1,86 @@
+package com.dlvery.dlvery.util;
+
+import com.dlvery.dlvery.exception.CustomExceptions.InvalidSignatureException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Signature Image Normalizer Tests")
+class SignatureImageNormalizerTest {
+
+    private final SignatureImageNormalizer normalizer = new SignatureImageNormalizer(600, 300, 4000, 65536);
+
+    @Test
+    @DisplayName("Should scale a transparent signature into a grayscale PNG on white")
+    void testNormalizeTransparentSignature() throws IOException {
+        BufferedImage signature = new BufferedImage(1200, 400, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = signature.createGraphics();
+        graphics.setColor(Color.BLACK);
+        graphics.drawLine(100, 200, 1100, 220);
+        graphics.dispose();
+
+        BufferedImage result = ImageIO.read(new ByteArrayInputStream(normalizer.normalize(encode(signature, "png"))));
+
+        assertEquals(600, result.getWidth());
+        assertEquals(200, result.getHeight());
+        assertEquals(BufferedImage.TYPE_BYTE_GRAY, result.getType());
+        assertEquals(0xFFFFFFFF, result.getRGB(0, 0)); // transparent background flattened to white
+    }
+
+    @Test
+    @DisplayName("Should keep small images at their size")
+    void testSmallImageNotEnlarged() throws IOException {
+        BufferedImage result = ImageIO.read(new ByteArrayInputStream(
+                normalizer.normalize(encode(new BufferedImage(200, 80, BufferedImage.TYPE_INT_RGB), "jpeg"))));
+
+        assertEquals(200, result.getWidth());
+        assertEquals(80, result.getHeight());
+    }
+
+    @Test
+    @DisplayName("Should shrink until the PNG fits the size cap")
+    void testShrinkToSizeCap() throws IOException {
+        // Random noise compresses badly, forcing extra shrink steps
+        BufferedImage noise = new BufferedImage(600, 300, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(42);
+        for (int y = 0; y < noise.getHeight(); y++) {
+            for (int x = 0; x < noise.getWidth(); x++) {
+                noise.setRGB(x, y, random.nextInt());
+            }
+        }
+        SignatureImageNormalizer capped = new SignatureImageNormalizer(600, 300, 4000, 32 * 1024);
+
+        byte[] png = capped.normalize(encode(noise, "png"));
+
+        assertTrue(png.length <= 32 * 1024);
+        assertTrue(ImageIO.read(new ByteArrayInputStream(png)).getWidth() < 600);
+    }
+
+    @Test
+    @DisplayName("Should reject images that are too large or not images")
+    void testRejectInvalidImages() throws IOException {
+        byte[] huge = encode(new BufferedImage(4001, 10, BufferedImage.TYPE_BYTE_GRAY), "png");
+        assertThrows(InvalidSignatureException.class, () -> normalizer.normalize(huge));
+
+        byte[] gif = encode(new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB), "gif");
+        assertThrows(InvalidSignatureException.class, () -> normalizer.normalize(gif));
+
+        assertThrows(InvalidSignatureException.class, () -> normalizer.normalize("John Smith".getBytes()));
+    }
+
+    private byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, format, output);
+        return output.toByteArray();
+    }
+}
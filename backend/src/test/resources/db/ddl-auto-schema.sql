@@ -0,0 +1,125 @@
+-- Schema as ddl-auto=update created it before the Flyway migrations: IDENTITY ids, the
+-- signature bytes on deliveries and none of the tables added since
+
+create table users (
+    id bigint not null auto_increment,
+    created_at datetime(6) not null,
+    email varchar(100),
+    email_verified bit not null,
+    full_name varchar(100),
+    is_active bit not null,
+    last_login_at datetime(6),
+    oauth_provider enum ('LOCAL','GOOGLE') not null,
+    oauth_provider_id varchar(100),
+    password_hash varchar(255),
+    role enum ('INV_TEAM','DL_TEAM') not null,
+    updated_at datetime(6),
+    username varchar(50) not null,
+    verification_token varchar(500),
+    verification_token_expires_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table delivery_agent_profiles (
+    id bigint not null auto_increment,
+    address TEXT,
+    bank_account_number varchar(50),
+    bank_name varchar(100),
+    city varchar(50),
+    created_at datetime(6) not null,
+    date_of_birth date,
+    display_name varchar(100),
+    emergency_contact_name varchar(100),
+    emergency_contact_phone varchar(20),
+    ifsc_code varchar(20),
+    is_available bit not null,
+    is_profile_complete bit not null,
+    license_expiry_date date,
+    license_number varchar(50),
+    phone_number varchar(20),
+    postal_code varchar(10),
+    profile_picture_url varchar(500),
+    state varchar(50),
+    updated_at datetime(6),
+    vehicle_number varchar(20),
+    vehicle_type varchar(50),
+    user_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table products (
+    id bigint not null auto_increment,
+    category enum ('ELECTRONICS','CLOTHING','FOOD_BEVERAGES','HOME_GARDEN','BOOKS','TOYS_GAMES','HEALTH_BEAUTY',
+                   'SPORTS_OUTDOORS','AUTOMOTIVE','OFFICE_SUPPLIES','PHARMACEUTICALS','FROZEN_GOODS','FRESH_PRODUCE','OTHER') not null,
+    created_at datetime(6) not null,
+    description varchar(255),
+    expiry_date date,
+    is_damaged bit not null,
+    is_perishable bit not null,
+    name varchar(255) not null,
+    quantity integer not null,
+    sku varchar(255) not null,
+    unit_price decimal(38,2) not null,
+    updated_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table inventory_movements (
+    id bigint not null auto_increment,
+    movement_date datetime(6) not null,
+    movement_type enum ('IN','OUT','ADJUSTMENT','DAMAGED','EXPIRED','DELIVERY') not null,
+    performed_by varchar(255),
+    quantity integer not null,
+    reason varchar(255),
+    reference varchar(255),
+    product_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table deliveries (
+    id bigint not null auto_increment,
+    assigned_at datetime(6),
+    created_at datetime(6) not null,
+    customer_address varchar(255),
+    customer_name varchar(255),
+    customer_phone varchar(255),
+    customer_signature LONGBLOB,
+    delivered_at datetime(6),
+    delivery_agent varchar(255) not null,
+    delivery_id varchar(255) not null,
+    notes varchar(255),
+    priority enum ('EMERGENCY','PERISHABLE','ESSENTIAL','STANDARD','LOW') not null,
+    scheduled_date date not null,
+    status enum ('PENDING','ASSIGNED','IN_TRANSIT','DELIVERED','DOOR_LOCKED','DAMAGED_IN_TRANSIT','RETURNED','CANCELLED') not null,
+    status_reason varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table delivery_items (
+    id bigint not null auto_increment,
+    quantity integer not null,
+    delivery_id bigint not null,
+    product_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table users add constraint UKr43af9ap4edm43mmtq01oddj6 unique (username);
+alter table users add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+alter table delivery_agent_profiles add constraint UK9q8dqsxw4ugd6l3mb5nx1hgds unique (user_id);
+alter table products add constraint UKfhmd06dsmj6k0n90swsh8ie9g unique (sku);
+alter table deliveries add constraint UKl1gmj5pn07t5ybq0u2e6yurbt unique (delivery_id);
+alter table delivery_agent_profiles add constraint FKbh7hdupx6d0q3ohe0n2mnt3rw foreign key (user_id) references users (id);
+alter table inventory_movements add constraint FKc8sihrjvkh0mqjmduqnd5y8kd foreign key (product_id) references products (id);
+alter table delivery_items add constraint FKfb9tjbcx0wdm4x9b1dq2mmjwy foreign key (delivery_id) references deliveries (id);
+alter table delivery_items add constraint FKfdvhbnahr4q8kbxjq6u9j4gxd foreign key (product_id) references products (id);
+
+-- Rows written through the IDENTITY columns
+insert into users (id, created_at, email_verified, is_active, oauth_provider, role, username)
+values (7, '2024-01-01 00:00:00', TRUE, TRUE, 'LOCAL', 'DL_TEAM', 'legacy.agent');
+insert into products (id, category, created_at, is_damaged, is_perishable, name, quantity, sku, unit_price, updated_at)
+values (120, 'OTHER', '2024-01-01 00:00:00', FALSE, FALSE, 'Legacy Product', 10, 'OTH-LEGACY', 9.99, '2024-01-01 00:00:00');
+insert into inventory_movements (id, movement_date, movement_type, quantity, product_id)
+values (300, '2024-01-01 00:00:00', 'IN', 10, 120);
+insert into deliveries (id, created_at, customer_signature, delivery_agent, delivery_id, priority, scheduled_date, status)
+values (45, '2024-01-01 00:00:00', X'0102', 'legacy.agent', 'DLV-LEGACY', 'STANDARD', '2024-01-01', 'PENDING');
+insert into delivery_items (id, quantity, delivery_id, product_id) values (46, 1, 45, 120);
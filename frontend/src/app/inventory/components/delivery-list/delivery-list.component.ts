@@ -254,10 +254,10 @@ export class DeliveryListComponent implements OnInit {
 
   getCustomerName = (delivery: Delivery): string => delivery.customerName || 'N/A';
   getStatusReason = (delivery: Delivery): string => delivery.statusReason || '—';
-  getCustomerSignature = (delivery: Delivery): string => delivery.customerSignature || '—';
+  hasSignature = (delivery: Delivery): boolean => !!delivery.hasSignature;
   getDeliveryNotes = (delivery: Delivery): string => delivery.deliveryNotes || '—';
   hasAdditionalInfo = (delivery: Delivery): boolean =>
-    !!(delivery.statusReason || delivery.customerSignature || delivery.deliveryNotes);
+    !!(delivery.statusReason || delivery.hasSignature || delivery.deliveryNotes);
 
   getStatusReasonIcon(status: DeliveryStatus): string {
     switch (status) {
@@ -288,13 +288,23 @@ export class DeliveryListComponent implements OnInit {
   }
 
   viewSignature(delivery: Delivery): void {
-    const signatureDialog = this.dialog.open(SignatureViewDialogComponent, {
-      width: '500px',
-      data: {
-        delivery: delivery,
-        signature: delivery.customerSignature,
-        customerName: delivery.customerName,
-        deliveryId: delivery.deliveryId
+    // The image is fetched on demand; list responses only say whether one exists
+    this.inventoryService.getDeliverySignature(delivery.id!).subscribe({
+      next: (image) => {
+        const signatureUrl = URL.createObjectURL(image);
+        const signatureDialog = this.dialog.open(SignatureViewDialogComponent, {
+          width: '500px',
+          data: {
+            delivery: delivery,
+            signature: signatureUrl,
+            customerName: delivery.customerName,
+            deliveryId: delivery.deliveryId
+          }
+        });
+        signatureDialog.afterClosed().subscribe(() => URL.revokeObjectURL(signatureUrl));
+      },
+      error: () => {
+        this.snackBar.open('Error loading signature', 'Close', { duration: 3000 });
       }
     });
   }
@@ -147,7 +147,7 @@ export class ProductListComponent implements OnInit {
     this.inventoryService.uploadInventoryFile(file).subscribe({
       next: (response) => {
         this.loading = false;
-        this.snackBar.open(response || 'File uploaded successfully', 'Close', { duration: 5000 });
+        this.snackBar.open(`Import #${response.id} started in the background`, 'Close', { duration: 5000 });
         this.loadProducts();
         // Clear the file input
         event.target.value = '';
@@ -56,7 +56,7 @@ import { MatIconModule } from '@angular/material/icon';
               <div class="signature-box">
                 <div *ngIf="data.signature; else noSignature" class="signature-image-container">
                   <img
-                    [src]="'data:image/png;base64,' + data.signature"
+                    [src]="data.signature"
                     alt="Customer Signature"
                     class="signature-image"
                     onerror="this.style.display='none'; this.nextElementSibling.style.display='block';">
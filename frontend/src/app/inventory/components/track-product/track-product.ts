@@ -97,15 +97,15 @@ export class TrackProductComponent implements OnInit {
 
     this.loading = true;
 
-    // Show all deliveries if both fields are empty
+    // Show the most recent deliveries if both fields are empty
     if (!sku && !agent) {
-      this.inventoryService.getAllDeliveries().subscribe({
-        next: (deliveries) => {
-          this.deliveries = deliveries;
+      this.inventoryService.getDeliveriesPage().subscribe({
+        next: (page) => {
+          this.deliveries = page.items;
           this.loading = false;
         },
         error: (error) => {
-          console.error('Error fetching all deliveries:', error);
+          console.error('Error fetching recent deliveries:', error);
           this.loading = false;
         }
       });
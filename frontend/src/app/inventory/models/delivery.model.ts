@@ -14,7 +14,7 @@ export interface Delivery {
   items: DeliveryItem[];
   notes?: string;
   statusReason?: string;
-  customerSignature?: string;
+  hasSignature?: boolean;
   deliveryNotes?: string;
 }
 
@@ -44,6 +44,21 @@ export enum DeliveryPriority {
   LOW = 'LOW'
 }
 
+export interface DeliveryPage {
+  items: Delivery[];
+  nextCursor: string | null;
+  hasMore: boolean;
+}
+
+export interface DeliveryListFilter {
+  status?: DeliveryStatus;
+  priority?: DeliveryPriority;
+  agent?: string;
+  from?: Date;
+  to?: Date;
+  sku?: string;
+}
+
 export interface DashboardStats {
   totalProducts: number;
   availableProducts: number;
@@ -47,4 +47,19 @@ export enum MovementType {
   DAMAGED = 'DAMAGED',
   EXPIRED = 'EXPIRED',
   DELIVERY = 'DELIVERY'
-}
\ No newline at end of file
+}
+export interface ImportJob {
+  id: number;
+  filename: string;
+  format: 'CSV' | 'XLSX';
+  status: 'QUEUED' | 'RUNNING' | 'COMPLETED' | 'FAILED' | 'INTERRUPTED';
+  rowsProcessed: number;
+  rowsSucceeded: number;
+  rowsFailed: number;
+  rowsPerSecond?: number;
+  lastCommittedRow?: number;
+  errorMessage?: string;
+  createdAt: string;
+  startedAt?: string;
+  finishedAt?: string;
+}
@@ -1,8 +1,8 @@
 import { Injectable } from '@angular/core';
 import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
-import { Product, InventoryMovement, MovementType } from '../models/product.model';
-import { Delivery, DeliveryStatus, DashboardStats } from '../models/delivery.model';
+import { Product, InventoryMovement, MovementType, ImportJob } from '../models/product.model';
+import { Delivery, DeliveryStatus, DashboardStats, DeliveryPage, DeliveryListFilter } from '../models/delivery.model';
 import { environment } from '../../../environments/environment';
 
 export interface DeliveryAgentOption {
@@ -29,6 +29,17 @@ export class InventoryService {
     return httpParams;
   }
 
+  // The server binds LocalDateTime, which drops any offset: send the browser's wall-clock time
+  // rather than toISOString()'s UTC instant
+  private toLocalDateTime(date?: Date): string | undefined {
+    if (!date) {
+      return undefined;
+    }
+    const pad = (value: number) => value.toString().padStart(2, '0');
+    return `${date.getFullYear()}-${pad(date.getMonth() + 1)}-${pad(date.getDate())}` +
+      `T${pad(date.getHours())}:${pad(date.getMinutes())}:${pad(date.getSeconds())}`;
+  }
+
   // Product operations
   getAllProducts(): Observable<Product[]> {
     return this.http.get<Product[]>(`${this.baseUrl}/inventory/products`);
@@ -66,12 +77,14 @@ export class InventoryService {
     return this.http.get<InventoryMovement[]>(`${this.baseUrl}/inventory/products/${sku}/movements`);
   }
 
-  uploadInventoryFile(file: File): Observable<string> {
+  uploadInventoryFile(file: File): Observable<ImportJob> {
     const formData = new FormData();
     formData.append('file', file);
-    return this.http.post(`${this.baseUrl}/inventory/upload`, formData, {
-      responseType: 'text'
-    });
+    return this.http.post<ImportJob>(`${this.baseUrl}/inventory/upload`, formData);
+  }
+
+  getImportJob(id: number): Observable<ImportJob> {
+    return this.http.get<ImportJob>(`${this.baseUrl}/inventory/imports/${id}`);
   }
 
   getDashboardStats(): Observable<DashboardStats> {
@@ -91,6 +104,24 @@ export class InventoryService {
     return this.http.get<Delivery[]>(`${this.baseUrl}/deliveries`);
   }
 
+  getDeliveriesPage(filter: DeliveryListFilter = {}, cursor?: string, limit?: number): Observable<DeliveryPage> {
+    const params = this.buildHttpParams({
+      status: filter.status,
+      priority: filter.priority,
+      agent: filter.agent,
+      from: this.toLocalDateTime(filter.from),
+      to: this.toLocalDateTime(filter.to),
+      sku: filter.sku,
+      cursor,
+      limit
+    });
+    return this.http.get<DeliveryPage>(`${this.baseUrl}/deliveries/page`, { params });
+  }
+
+  getDeliverySignature(id: number): Observable<Blob> {
+    return this.http.get(`${this.baseUrl}/deliveries/${id}/signature`, { responseType: 'blob' });
+  }
+
   createDelivery(delivery: Delivery): Observable<Delivery> {
     return this.http.post<Delivery>(`${this.baseUrl}/deliveries`, delivery);
   }